@@ -0,0 +1,91 @@
+package com.flight.data.mgmt.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.flight.data.mgmt.dto.FlightResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and reads a page of flights in each response format with the mappers from {@link JacksonConfig}. Payload
+ * sizes are printed once per trial, since JMH only reports time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private ResponseFormat format;
+
+    @Param({"50", "1000"})
+    private int flights;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<FlightResponseDTO> page;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        ObjectMapper objectMapper = switch (format) {
+            case JSON -> jacksonConfig.objectMapper();
+            case SMILE -> jacksonConfig.smileMapper();
+            case CBOR -> jacksonConfig.cborMapper();
+        };
+        TypeReference<List<FlightResponseDTO>> type = new TypeReference<>() {
+        };
+        writer = objectMapper.writerFor(type);
+        reader = objectMapper.readerFor(type);
+
+        Instant start = Instant.parse("2030-01-01T10:00:00Z");
+        page = new ArrayList<>(flights);
+        for (int i = 0; i < flights; i++) {
+            Instant departure = start.plus(i * 7L, ChronoUnit.MINUTES);
+            page.add(FlightResponseDTO.builder()
+                    .flightNumber("BA" + (100 + i))
+                    .airline("BA")
+                    .supplier(i % 3 == 0 ? "CrazySupplier" : "Local DB")
+                    .fare(300 + i % 200 + 0.5)
+                    .departureAirport("LHR")
+                    .destinationAirport("JFK")
+                    .departureTime(departure)
+                    .arrivalTime(departure.plus(8, ChronoUnit.HOURS))
+                    .build());
+        }
+        payload = writer.writeValueAsBytes(page);
+        System.out.printf("%n%s payload for %d flights: %d bytes%n", format, flights, payload.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<FlightResponseDTO> deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+}
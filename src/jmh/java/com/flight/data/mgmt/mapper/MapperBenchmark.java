@@ -0,0 +1,78 @@
+package com.flight.data.mgmt.mapper;
+
+import com.flight.data.mgmt.dto.CrazySupplierFlightResponseDTO;
+import com.flight.data.mgmt.dto.FlightResponseDTO;
+import com.flight.data.mgmt.dto.FlightView;
+import com.flight.data.mgmt.model.Flight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final Instant DEPARTURE = Instant.parse("2030-01-01T10:00:00Z");
+    private static final Instant ARRIVAL = Instant.parse("2030-01-01T18:00:00Z");
+
+    private final FlightMapper flightMapper = new FlightMapper();
+    private final CrazySupplierMapper crazySupplierMapper = new CrazySupplierMapper();
+
+    private Flight flight;
+    private FlightView flightView;
+    private CrazySupplierFlightResponseDTO supplierFlight;
+
+    @Setup
+    public void setUp() {
+        flight = Flight.builder()
+                .id(1L)
+                .flightNumber("BA100")
+                .airLine("BA")
+                .supplier("Local DB")
+                .fare(420.5)
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .departureTime(DEPARTURE)
+                .arrivalTime(ARRIVAL)
+                .build();
+        flightView = flightMapper.toFlightView(flight);
+        supplierFlight = CrazySupplierFlightResponseDTO.builder()
+                .carrier("CS")
+                .basePrice(380)
+                .tax(40.5)
+                .departureAirport("LHR")
+                .arrivalAirport("JFK")
+                .outboundDateTime(DEPARTURE)
+                .inboundDateTime(ARRIVAL)
+                .build();
+    }
+
+    @Benchmark
+    public FlightResponseDTO flightToResponse() {
+        return flightMapper.toFlightResponseDTO(flight);
+    }
+
+    @Benchmark
+    public FlightResponseDTO flightViewToResponse() {
+        return flightMapper.toFlightResponseDTO(flightView);
+    }
+
+    @Benchmark
+    public Flight supplierFlightToFlight() {
+        return crazySupplierMapper.toFlight(supplierFlight);
+    }
+}
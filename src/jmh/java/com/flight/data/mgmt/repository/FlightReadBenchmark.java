@@ -0,0 +1,111 @@
+package com.flight.data.mgmt.repository;
+
+import com.flight.data.mgmt.FlightDataManagementApplication;
+import com.flight.data.mgmt.dto.FlightResponseDTO;
+import com.flight.data.mgmt.mapper.FlightMapper;
+import com.flight.data.mgmt.model.Flight;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a large route result as managed entities (the previous read path) with the read-only
+ * {@code FlightView} projection. Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightReadBenchmark {
+
+    private static final String DEPARTURE = "LHR";
+    private static final String DESTINATION = "JFK";
+
+    @Param({"1000", "20000"})
+    private int flights;
+
+    private ConfigurableApplicationContext context;
+    private FlightRepository flightRepository;
+    private FlightMapper flightMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readWriteTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(FlightDataManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.root=WARN", "--flight.route-index.enabled=false");
+        flightRepository = context.getBean(FlightRepository.class);
+        flightMapper = context.getBean(FlightMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readWriteTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        Instant start = Instant.parse("2030-01-01T00:00:00Z");
+        List<Flight> seed = new ArrayList<>(flights);
+        for (int i = 0; i < flights; i++) {
+            Instant departure = start.plus(i, ChronoUnit.MINUTES);
+            seed.add(Flight.builder()
+                    .flightNumber("BA" + (100 + i))
+                    .airLine("BA")
+                    .supplier("Local DB")
+                    .fare(100 + i % 400)
+                    .departureAirport(DEPARTURE)
+                    .destinationAirport(DESTINATION)
+                    .departureTime(departure)
+                    .arrivalTime(departure.plus(8, ChronoUnit.HOURS))
+                    .build());
+        }
+        flightRepository.saveAll(seed);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FlightResponseDTO> entityHydration() {
+        return readWriteTransaction.execute(status -> entityManager.createQuery(
+                        "SELECT f FROM Flight f WHERE f.departureAirport = :departureAirport " +
+                                "AND f.destinationAirport = :destinationAirport ORDER BY f.departureTime, f.id",
+                        Flight.class)
+                .setParameter("departureAirport", DEPARTURE)
+                .setParameter("destinationAirport", DESTINATION)
+                .setMaxResults(flights)
+                .getResultStream()
+                .map(flightMapper::toFlightResponseDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<FlightResponseDTO> dtoProjection() {
+        return flightRepository.findRoutePage(DEPARTURE, DESTINATION, Limit.of(flights)).stream()
+                .map(flightMapper::toFlightResponseDTO)
+                .toList();
+    }
+}
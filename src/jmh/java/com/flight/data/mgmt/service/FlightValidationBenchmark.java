@@ -0,0 +1,82 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.model.Flight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlightValidationBenchmark {
+
+    private static final Instant DEPARTURE = Instant.parse("2099-01-01T10:00:00Z");
+    private static final Instant ARRIVAL = Instant.parse("2099-01-01T18:00:00Z");
+
+    private FlightService flightService;
+    private FlightSearchCriteriaDTO validCriteria;
+    private Flight validFlight;
+    private Flight invalidFlight;
+
+    @Setup
+    public void setUp() {
+        flightService = new FlightService(null, null, null, null, null, null,
+                new SearchMetrics(new SimpleMeterRegistry()), null, null);
+        validCriteria = FlightSearchCriteriaDTO.builder()
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .outboundDate(DEPARTURE)
+                .inboundDate(ARRIVAL)
+                .build();
+        validFlight = Flight.builder()
+                .airLine("BA")
+                .supplier("Local DB")
+                .fare(420.5)
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .departureTime(DEPARTURE)
+                .arrivalTime(ARRIVAL)
+                .build();
+        invalidFlight = Flight.builder()
+                .supplier("Local DB")
+                .departureAirport("L1R")
+                .destinationAirport("JFK")
+                .departureTime(ARRIVAL)
+                .arrivalTime(DEPARTURE)
+                .build();
+    }
+
+    @Benchmark
+    public FlightSearchCriteriaDTO validateSearchParam() {
+        flightService.validateSearchParam(validCriteria);
+        return validCriteria;
+    }
+
+    @Benchmark
+    public List<String> validateFlight() {
+        return flightService.validationErrors(validFlight);
+    }
+
+    // validateSearchParam is only measured on valid input: rejected searches are logged, which would dominate
+    @Benchmark
+    public List<String> validateFlight_Rejected() {
+        return flightService.validationErrors(invalidFlight);
+    }
+}
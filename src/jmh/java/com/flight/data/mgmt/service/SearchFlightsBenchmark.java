@@ -0,0 +1,126 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.cache.TtlCache;
+import com.flight.data.mgmt.config.SupplierProperties;
+import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.dto.FlightSearchResultDTO;
+import com.flight.data.mgmt.mapper.FlightMapper;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightRouteIndex;
+import com.flight.data.mgmt.supplier.FlightSupplier;
+import com.flight.data.mgmt.supplier.FlightSupplierRegistry;
+import com.flight.data.mgmt.supplier.SupplierSearchEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end searchFlights: validation, the local lookup on a virtual thread against the in-memory route index, the
+ * supplier scatter-gather against a stub that answers immediately, and mapping of the merged result. The supplier
+ * cache expires entries at once so every search reaches the supplier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchFlightsBenchmark {
+
+    private static final Instant OUTBOUND = Instant.parse("2099-01-01T00:00:00Z");
+
+    @Param({"10", "1000"})
+    private int localFlights;
+
+    @Param({"10", "1000"})
+    private int supplierFlights;
+
+    private ExecutorService searchExecutor;
+    private FlightService flightService;
+    private FlightSearchCriteriaDTO criteria;
+
+    @Setup
+    public void setUp() {
+        SearchMetrics searchMetrics = new SearchMetrics(new SimpleMeterRegistry());
+        FlightRouteIndex flightRouteIndex = new FlightRouteIndex(null, true);
+        for (int i = 0; i < localFlights; i++) {
+            flightRouteIndex.put(flight((long) i + 1, "Local DB", OUTBOUND.plus(i, ChronoUnit.MINUTES)));
+        }
+        List<Flight> supplied = new ArrayList<>(supplierFlights);
+        for (int i = 0; i < supplierFlights; i++) {
+            supplied.add(flight(null, "CrazySupplier", OUTBOUND.plus(i, ChronoUnit.MINUTES)));
+        }
+        FlightSupplier stubSupplier = new FlightSupplier() {
+            @Override
+            public String getName() {
+                return "stub";
+            }
+
+            @Override
+            public CompletableFuture<List<Flight>> searchFlightsAsync(FlightSearchCriteriaDTO criteria) {
+                return CompletableFuture.completedFuture(supplied);
+            }
+        };
+        SupplierSearchEngine supplierSearchEngine = new SupplierSearchEngine(
+                new FlightSupplierRegistry(List.of(stubSupplier), new SupplierProperties()),
+                new TtlCache<>(Duration.ZERO, 1),
+                searchMetrics);
+
+        searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        flightService = new FlightService(null, flightRouteIndex, new FlightMapper(), searchExecutor,
+                supplierSearchEngine, null, searchMetrics, null, null);
+        ReflectionTestUtils.setField(flightService, "searchTimeout", Duration.ofSeconds(3));
+        criteria = FlightSearchCriteriaDTO.builder()
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .outboundDate(OUTBOUND)
+                .inboundDate(OUTBOUND.plus(30, ChronoUnit.DAYS))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        searchExecutor.close();
+    }
+
+    @Benchmark
+    public FlightSearchResultDTO searchFlights() {
+        return flightService.searchFlights(criteria);
+    }
+
+    private static Flight flight(Long id, String supplier, Instant departure) {
+        return Flight.builder()
+                .id(id)
+                .flightNumber(id == null ? null : "BA" + (99 + id))
+                .airLine("BA")
+                .supplier(supplier)
+                .fare(420.5)
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .departureTime(departure)
+                .arrivalTime(departure.plus(8, ChronoUnit.HOURS))
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.flight.data.mgmt.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.flight.data.mgmt.config.JacksonConfig;
+import com.flight.data.mgmt.dto.CrazySupplierFlightResponseDTO;
+import com.flight.data.mgmt.mapper.CrazySupplierMapper;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.model.Flight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializes CrazySupplier response bodies of increasing size: the streaming token to Flight reader used by the async
+ * search path, the same stream bound element by element to DTOs, and the buffered String to DTO list path used by the
+ * blocking one. All produce Flights. Each runs with plain reflective databind and with the Blackbird module that
+ * {@code flight.jackson.blackbird.enabled} turns on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SupplierPayloadBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int flights;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader flightReader;
+    private ObjectReader flightListReader;
+    private final CrazySupplierMapper mapper = new CrazySupplierMapper();
+    private CrazySupplierService crazySupplierService;
+    private byte[] payload;
+    private String payloadText;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new JacksonConfig(blackbird).objectMapper();
+        flightReader = objectMapper.readerFor(CrazySupplierFlightResponseDTO.class);
+        flightListReader = objectMapper.readerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CrazySupplierFlightResponseDTO.class));
+        crazySupplierService = new CrazySupplierService(null, objectMapper, mapper, null,
+                new SearchMetrics(new SimpleMeterRegistry()));
+        Instant start = Instant.parse("2030-01-01T10:00:00Z");
+        List<CrazySupplierFlightResponseDTO> body = new ArrayList<>(flights);
+        for (int i = 0; i < flights; i++) {
+            Instant departure = start.plus(i, ChronoUnit.MINUTES);
+            body.add(CrazySupplierFlightResponseDTO.builder()
+                    .carrier("CS")
+                    .basePrice(300 + i % 200)
+                    .tax(42.5)
+                    .departureAirport("LHR")
+                    .arrivalAirport("JFK")
+                    .outboundDateTime(departure)
+                    .inboundDateTime(departure.plus(8, ChronoUnit.HOURS))
+                    .build());
+        }
+        payload = objectMapper.writeValueAsBytes(body);
+        payloadText = new String(payload);
+    }
+
+    @Benchmark
+    public List<Flight> streamingParse() throws IOException {
+        return crazySupplierService.parseFlights(new ByteArrayInputStream(payload));
+    }
+
+    // The streaming path before it read tokens straight into Flight
+    @Benchmark
+    public List<Flight> streamingDtoParse() throws IOException {
+        List<Flight> result = new ArrayList<>();
+        try (JsonParser parser = flightReader.createParser(payload)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                result.add(mapper.toFlight(flightReader.readValue(parser)));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Flight> bufferedParse() throws IOException {
+        List<CrazySupplierFlightResponseDTO> responses = flightListReader.readValue(payloadText);
+        return responses.stream().map(mapper::toFlight).toList();
+    }
+}
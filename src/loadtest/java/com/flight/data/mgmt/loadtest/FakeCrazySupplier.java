@@ -0,0 +1,138 @@
+package com.flight.data.mgmt.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.flight.data.mgmt.dto.CrazySupplierFlightResponseDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for the CrazySupplier API. Answers {@code POST /flights} after a log-normal delay fitted to the
+ * configured median and p99, fails the configured share of requests with a 503 and otherwise returns a fixed number
+ * of flights for the requested departure airport.
+ */
+class FakeCrazySupplier implements AutoCloseable {
+
+    // Standard normal quantile at 0.99
+    private static final double Z_99 = 2.3263;
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter flightsWriter;
+    private final List<String> airports;
+    private final double medianNanos;
+    private final double sigma;
+    private final double errorRate;
+    private final int flightsPerResponse;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    FakeCrazySupplier(ObjectMapper objectMapper, List<String> airports, Duration latencyMedian, Duration latencyP99,
+                      double errorRate, int flightsPerResponse) throws IOException {
+        this.objectMapper = objectMapper;
+        this.flightsWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CrazySupplierFlightResponseDTO.class));
+        this.airports = airports;
+        this.medianNanos = latencyMedian.toNanos();
+        this.sigma = latencyP99.compareTo(latencyMedian) > 0
+                ? Math.log((double) latencyP99.toNanos() / latencyMedian.toNanos()) / Z_99
+                : 0;
+        this.errorRate = errorRate;
+        this.flightsPerResponse = flightsPerResponse;
+        // The default backlog of 50 drops connection bursts once the application runs supplier calls on virtual
+        // threads, and the retried SYNs would be measured as supplier latency
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), ACCEPT_BACKLOG);
+        this.server.setExecutor(executor);
+        this.server.createContext("/flights", this::handle);
+        this.server.start();
+    }
+
+    String url() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Thread.sleep(Duration.ofNanos((long) (medianNanos * Math.exp(sigma * random.nextGaussian()))));
+
+            if (!"POST".equals(exchange.getRequestMethod()) || random.nextDouble() < errorRate) {
+                failures.increment();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                flightsWriter.writeValue(out, flights(request, random));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<CrazySupplierFlightResponseDTO> flights(JsonNode request, ThreadLocalRandom random) {
+        String from = request.path("fromAirLine").asText(airports.getFirst());
+        Instant outbound = parseInstant(request.path("outboundDateTime"));
+        if (outbound == null) {
+            outbound = parseInstant(request.path("inboundDateTime"));
+        }
+        Instant base = outbound != null ? outbound : Instant.now().truncatedTo(ChronoUnit.HOURS);
+
+        CrazySupplierFlightResponseDTO[] flights = new CrazySupplierFlightResponseDTO[flightsPerResponse];
+        for (int i = 0; i < flightsPerResponse; i++) {
+            String to = request.path("toAirLine").asText(airports.get(random.nextInt(airports.size())));
+            Instant departure = base.plus(random.nextInt(24 * 60), ChronoUnit.MINUTES);
+            flights[i] = CrazySupplierFlightResponseDTO.builder()
+                    .carrier("CS")
+                    .basePrice(50 + random.nextInt(950))
+                    .tax(random.nextInt(120))
+                    .departureAirport(from)
+                    .arrivalAirport(to)
+                    .outboundDateTime(departure)
+                    .inboundDateTime(departure.plus(1 + random.nextInt(12), ChronoUnit.HOURS))
+                    .build();
+        }
+        return List.of(flights);
+    }
+
+    private static Instant parseInstant(JsonNode node) {
+        return node.isTextual() ? Instant.parse(node.asText()) : null;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,336 @@
+package com.flight.data.mgmt.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.mgmt.FlightDataManagementApplication;
+import com.flight.data.mgmt.config.JacksonConfig;
+import com.flight.data.mgmt.dto.FlightRequestDTO;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application against {@link FakeCrazySupplier}, seeds the database through the bulk endpoint and drives a
+ * weighted mix of searches and CRUD calls at a fixed arrival rate. Requests are issued on schedule whether or not
+ * earlier ones have returned, and latency is measured from the scheduled start, so a stalled server shows up in the
+ * percentiles instead of silently lowering the offered load.
+ *
+ * <p>Settings come from {@code loadtest.*} system properties (see {@link LoadTestOptions}); program arguments are
+ * passed to the application, e.g. {@code --flight.route-index.enabled=true}.
+ */
+public final class LoadTest {
+
+    private static final String BASE_PATH = "/v1/api/flights";
+    private static final List<String> AIRPORTS = List.of("LHR", "JFK", "CDG", "AMS", "FRA", "MAD", "DXB", "SIN");
+    private static final List<String> OPERATIONS =
+            List.of("search-airline", "route", "departure-airport", "create", "update", "delete");
+    private static final int SCHEDULE_DAYS = 30;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper;
+    private final FakeCrazySupplier supplier;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Instant firstDay;
+    private final String[] operationTable;
+    private final Queue<String> createdFlights = new ConcurrentLinkedQueue<>();
+
+    private LoadTest(LoadTestOptions options, ObjectMapper objectMapper, FakeCrazySupplier supplier, int port) {
+        this.options = options;
+        this.objectMapper = objectMapper;
+        this.supplier = supplier;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = "http://localhost:" + port + BASE_PATH;
+        this.firstDay = Instant.now().truncatedTo(ChronoUnit.DAYS).plus(1, ChronoUnit.DAYS);
+        this.operationTable = operationTable(options.mix());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+        try (FakeCrazySupplier supplier = new FakeCrazySupplier(objectMapper, AIRPORTS,
+                options.supplierLatencyMedian(), options.supplierLatencyP99(), options.supplierErrorRate(),
+                options.supplierFlights());
+             ConfigurableApplicationContext application = new SpringApplicationBuilder(FlightDataManagementApplication.class)
+                     .properties("server.port=0",
+                             "spring.main.banner-mode=off",
+                             "logging.level.root=WARN",
+                             // Injected supplier errors would otherwise log one line each
+                             "logging.level.com.flight.data.mgmt.supplier.SupplierSearchEngine=ERROR")
+                     .run(applicationArgs(args, supplier.url()))) {
+            int port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadTest loadTest = new LoadTest(options, objectMapper, supplier, port);
+            loadTest.seed();
+            Map<String, Object> result = loadTest.run();
+            // Kept with the numbers so runs in different modes, e.g. spring.threads.virtual.enabled, can be told apart
+            result.put("applicationArgs", splitArgs(args));
+
+            Files.createDirectories(options.resultFile().toAbsolutePath().getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(options.resultFile().toFile(), result);
+            System.out.println("Results written to " + options.resultFile().toAbsolutePath());
+        }
+    }
+
+    // Maven passes the optional application arguments as one blank-separated string. The supplier URL goes in as an
+    // argument too, since builder properties are only defaults and application.properties would win over them.
+    private static String[] applicationArgs(String[] args, String supplierUrl) {
+        return Stream.concat(Stream.of("--crazy-supplier.api.url=" + supplierUrl), splitArgs(args).stream())
+                .toArray(String[]::new);
+    }
+
+    private static List<String> splitArgs(String[] args) {
+        return Arrays.stream(args)
+                .flatMap(arg -> Arrays.stream(arg.trim().split("\\s+")))
+                .filter(arg -> !arg.isEmpty())
+                .toList();
+    }
+
+    private static String[] operationTable(Map<String, Integer> mix) {
+        List<String> table = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            if (!OPERATIONS.contains(operation)) {
+                throw new IllegalArgumentException("Unknown loadtest.mix operation " + operation + ", expected one of "
+                        + OPERATIONS);
+            }
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        });
+        return table.toArray(String[]::new);
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        if (options.seedFlights() == 0) {
+            return;
+        }
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < options.seedFlights(); i++) {
+            body.append(objectMapper.writeValueAsString(randomFlight())).append('\n');
+        }
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": "
+                    + response.body());
+        }
+        System.out.println("Seeded " + objectMapper.readTree(response.body()).path("imported").asLong() + " flights");
+    }
+
+    private Map<String, Object> run() {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        options.mix().keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder()));
+
+        System.out.printf("Offering %d requests/s for %s after a %s warm-up%n",
+                options.rate(), options.duration(), options.warmup());
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        long supplierRequests = -1;
+        long supplierFailures = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * 1_000_000_000L / options.rate();
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (supplierRequests < 0 && scheduled >= measureFrom) {
+                    supplierRequests = supplier.requests();
+                    supplierFailures = supplier.failures();
+                }
+                String operation = operationTable[ThreadLocalRandom.current().nextInt(operationTable.length)];
+                executor.execute(() -> {
+                    boolean success = execute(operation);
+                    if (scheduled >= measureFrom) {
+                        recorders.get(operation).record(System.nanoTime() - scheduled, success);
+                    }
+                });
+            }
+        }
+        double seconds = options.duration().toNanos() / 1e9;
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> operations.put(operation, recorder.summary(seconds)));
+        Map<String, Object> supplierSummary = new LinkedHashMap<>();
+        supplierSummary.put("requests", supplier.requests() - Math.max(supplierRequests, 0));
+        supplierSummary.put("failures", supplier.failures() - supplierFailures);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("options", describe(options));
+        result.put("operations", operations);
+        result.put("supplier", supplierSummary);
+        print(operations, supplierSummary);
+        return result;
+    }
+
+    private boolean execute(String operation) {
+        try {
+            return switch (operation) {
+                case "search-airline" -> search();
+                case "route" -> route();
+                case "departure-airport" -> departureAirport();
+                case "create" -> create();
+                case "update" -> update();
+                case "delete" -> delete();
+                default -> throw new IllegalStateException("Unexpected operation " + operation);
+            };
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean search() throws IOException, InterruptedException {
+        String[] route = randomRoute();
+        Instant outbound = randomDay();
+        return get("/search-airline?departureAirport=" + route[0] + "&destinationAirport=" + route[1]
+                + "&outboundDate=" + outbound + "&inboundDate=" + outbound.plus(1, ChronoUnit.DAYS));
+    }
+
+    private boolean route() throws IOException, InterruptedException {
+        String[] route = randomRoute();
+        return get("/route?departureAirport=" + route[0] + "&destinationAirport=" + route[1]);
+    }
+
+    private boolean departureAirport() throws IOException, InterruptedException {
+        Instant departure = randomDay();
+        return get("/departure-airport?departureAirport=" + randomRoute()[0] + "&departureTime=" + departure
+                + "&destinationTime=" + departure.plus(1, ChronoUnit.DAYS));
+    }
+
+    private boolean create() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(randomFlight()))),
+                HttpResponse.BodyHandlers.ofString());
+        if (!isSuccess(response)) {
+            return false;
+        }
+        createdFlights.add(objectMapper.readTree(response.body()).path("flightNumber").asText());
+        return true;
+    }
+
+    // Updates and deletes work on flights this run created; until there are some they create one instead
+    private boolean update() throws IOException, InterruptedException {
+        String flightNumber = createdFlights.poll();
+        if (flightNumber == null) {
+            return create();
+        }
+        HttpResponse<Void> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + flightNumber))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(randomFlight()))),
+                HttpResponse.BodyHandlers.discarding());
+        createdFlights.add(flightNumber);
+        return isSuccess(response);
+    }
+
+    private boolean delete() throws IOException, InterruptedException {
+        String flightNumber = createdFlights.poll();
+        if (flightNumber == null) {
+            return create();
+        }
+        return isSuccess(send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + flightNumber)).DELETE(),
+                HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private boolean get(String pathAndQuery) throws IOException, InterruptedException {
+        return isSuccess(send(HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery)).GET(),
+                HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(REQUEST_TIMEOUT).build(), bodyHandler);
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private FlightRequestDTO randomFlight() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String[] route = randomRoute();
+        Instant departure = randomDay().plus(random.nextInt(24 * 60), ChronoUnit.MINUTES);
+        return FlightRequestDTO.builder()
+                .airline("LT")
+                .supplier("LoadTest")
+                .fare(50 + random.nextInt(950))
+                .departureAirport(route[0])
+                .destinationAirport(route[1])
+                .departureTime(departure)
+                .arrivalTime(departure.plus(1 + random.nextInt(12), ChronoUnit.HOURS))
+                .build();
+    }
+
+    private static String[] randomRoute() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(AIRPORTS.size());
+        int to = (from + 1 + random.nextInt(AIRPORTS.size() - 1)) % AIRPORTS.size();
+        return new String[]{AIRPORTS.get(from), AIRPORTS.get(to)};
+    }
+
+    private Instant randomDay() {
+        return firstDay.plus(ThreadLocalRandom.current().nextInt(SCHEDULE_DAYS), ChronoUnit.DAYS);
+    }
+
+    private static Map<String, Object> describe(LoadTestOptions options) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("rate", options.rate());
+        description.put("warmup", options.warmup().toString());
+        description.put("duration", options.duration().toString());
+        description.put("mix", options.mix());
+        description.put("seedFlights", options.seedFlights());
+        description.put("supplierLatencyMedian", options.supplierLatencyMedian().toString());
+        description.put("supplierLatencyP99", options.supplierLatencyP99().toString());
+        description.put("supplierErrorRate", options.supplierErrorRate());
+        description.put("supplierFlights", options.supplierFlights());
+        return description;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> operations, Map<String, Object> supplierSummary) {
+        System.out.printf("%-18s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach((operation, summary) -> {
+            Map<String, Object> s = (Map<String, Object>) summary;
+            System.out.printf("%-18s %9s %7s %9s %9s %9s %9s %9s %9s%n", operation, s.get("requests"), s.get("errors"),
+                    s.get("throughput"), s.get("p50Ms"), s.get("p90Ms"), s.get("p99Ms"), s.get("p999Ms"),
+                    s.get("maxMs"));
+        });
+        System.out.printf("supplier: %s requests, %s failed%n",
+                supplierSummary.get("requests"), supplierSummary.get("failures"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.flight.data.mgmt.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties so a run can be repeated exactly from the
+ * command line.
+ */
+record LoadTestOptions(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        Map<String, Integer> mix,
+        int seedFlights,
+        Duration supplierLatencyMedian,
+        Duration supplierLatencyP99,
+        double supplierErrorRate,
+        int supplierFlights,
+        Path resultFile) {
+
+    static LoadTestOptions fromSystemProperties() {
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(property("rate", "200")),
+                duration("warmup", "10s"),
+                duration("duration", "60s"),
+                mix(property("mix", "search-airline:60,route:15,departure-airport:10,create:7,update:5,delete:3")),
+                Integer.parseInt(property("seed-flights", "5000")),
+                duration("supplier.latency-median", "150ms"),
+                duration("supplier.latency-p99", "800ms"),
+                Double.parseDouble(property("supplier.error-rate", "0.02")),
+                Integer.parseInt(property("supplier.flights", "50")),
+                Path.of(property("result-file", "target/loadtest-result.json")));
+        if (options.rate < 1) {
+            throw new IllegalArgumentException("loadtest.rate must be at least 1 request per second");
+        }
+        if (options.supplierErrorRate < 0 || options.supplierErrorRate > 1) {
+            throw new IllegalArgumentException("loadtest.supplier.error-rate must be between 0 and 1");
+        }
+        return options;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static Duration duration(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(property(name, defaultValue));
+    }
+
+    // "search-airline:60,route:15" -> weights in declaration order
+    private static Map<String, Integer> mix(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+}
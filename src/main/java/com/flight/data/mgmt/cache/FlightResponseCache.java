@@ -0,0 +1,162 @@
+package com.flight.data.mgmt.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.flight.data.mgmt.config.ResponseFormat;
+import com.flight.data.mgmt.dto.FlightPageDTO;
+import com.flight.data.mgmt.dto.FlightResponseDTO;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.metrics.SearchMetrics.Stage;
+import com.flight.data.mgmt.metrics.TtlCacheMetrics;
+import com.flight.data.mgmt.model.Flight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Route and departure-airport pages kept serialized in the negotiated format, plus a gzip copy when the body is large
+ * enough to be worth it, each with its own strong ETag. Writes drop the entries of the routes they touch, so a hit
+ * never needs the database; the TTL only bounds how long writes made by another instance can go unseen.
+ */
+@Component
+public class FlightResponseCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "flightResponse";
+
+    private final TtlCache<FlightResponseKey, CachedResponse> cache;
+    private final Map<ResponseFormat, ObjectWriter> pageWriters = new EnumMap<>(ResponseFormat.class);
+    private final SearchMetrics searchMetrics;
+    private final boolean enabled;
+    private final int gzipMinSize;
+
+    public FlightResponseCache(ObjectMapper objectMapper,
+                               SmileMapper smileMapper,
+                               CBORMapper cborMapper,
+                               SearchMetrics searchMetrics,
+                               @Value("${flight.response-cache.enabled:false}") boolean enabled,
+                               @Value("${flight.response-cache.ttl:5m}") Duration ttl,
+                               @Value("${flight.response-cache.max-size:10000}") int maxSize,
+                               @Value("${flight.response-cache.gzip-min-size:1024}") int gzipMinSize) {
+        this.cache = new TtlCache<>(ttl, maxSize);
+        this.pageWriters.put(ResponseFormat.JSON, pageWriter(objectMapper));
+        this.pageWriters.put(ResponseFormat.SMILE, pageWriter(smileMapper));
+        this.pageWriters.put(ResponseFormat.CBOR, pageWriter(cborMapper));
+        this.searchMetrics = searchMetrics;
+        this.enabled = enabled;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    public CachedResponse get(FlightResponseKey key, Supplier<FlightPageDTO> loader) {
+        if (!enabled) {
+            return serialize(key, loader.get());
+        }
+        try {
+            return cache.getOrLoad(key,
+                    () -> CompletableFuture.completedFuture(serialize(key, loader.get()))).join();
+        } catch (CompletionException e) {
+            // Validation errors from the loader must reach the exception handler unchanged
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Called once the write is committed; a flight moved to another route is passed in both its old and new state
+    public void invalidate(Collection<Flight> flights) {
+        if (!enabled || flights.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> destinationsByDeparture = flights.stream()
+                .collect(Collectors.groupingBy(Flight::getDepartureAirport,
+                        Collectors.mapping(Flight::getDestinationAirport, Collectors.toSet())));
+        cache.invalidateIf(key -> {
+            Set<String> destinations = destinationsByDeparture.get(key.departureAirport());
+            return destinations != null
+                    && (key.destinationAirport() == null || destinations.contains(key.destinationAirport()));
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TtlCacheMetrics.of(CACHE_NAME, cache).bindTo(registry);
+    }
+
+    private CachedResponse serialize(FlightResponseKey key, FlightPageDTO page) {
+        long start = System.nanoTime();
+        byte[] body;
+        try {
+            body = pageWriters.get(key.format()).writeValueAsBytes(page.getFlights());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        CachedResponse response = CachedResponse.of(body, page.getNextPageToken(), gzipMinSize);
+        searchMetrics.recordStage(key.endpoint(), Stage.SERIALIZATION, start);
+        return response;
+    }
+
+    private static ObjectWriter pageWriter(ObjectMapper objectMapper) {
+        return objectMapper.writerFor(new TypeReference<List<FlightResponseDTO>>() {
+        });
+    }
+
+    /**
+     * One serialized page. The gzip copy is a different representation, so it gets its own ETag; a client holding
+     * either one is up to date.
+     */
+    public record CachedResponse(byte[] body, byte[] gzipBody, String nextPageToken, String hash) {
+
+        private static final String GZIP_SUFFIX = "-gzip";
+
+        public static CachedResponse of(byte[] body, String nextPageToken, int gzipMinSize) {
+            return new CachedResponse(body, body.length >= gzipMinSize ? gzip(body) : null, nextPageToken,
+                    DigestUtils.md5DigestAsHex(body));
+        }
+
+        public String etag(boolean gzip) {
+            return "\"" + hash + (gzip ? GZIP_SUFFIX : "") + "\"";
+        }
+
+        // If-None-Match uses the weak comparison, so a W/ prefix is ignored
+        public boolean matches(Collection<String> ifNoneMatch) {
+            for (String tag : ifNoneMatch) {
+                String opaque = tag.startsWith("W/") ? tag.substring(2) : tag;
+                if (opaque.equals("*") || opaque.equals(etag(false)) || opaque.equals(etag(true))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.flight.data.mgmt.cache;
+
+import com.flight.data.mgmt.config.ResponseFormat;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.model.AirportCode;
+
+import java.time.Instant;
+
+// destinationAirport is null for departure-airport pages, which list every destination
+public record FlightResponseKey(String endpoint,
+                                String departureAirport,
+                                String destinationAirport,
+                                Instant departureFrom,
+                                Instant departureTo,
+                                Integer pageSize,
+                                String pageToken,
+                                ResponseFormat format) {
+
+    public static FlightResponseKey route(String departureAirport, String destinationAirport,
+                                          Integer pageSize, String pageToken, ResponseFormat format) {
+        return new FlightResponseKey(SearchMetrics.ROUTE, AirportCode.normalize(departureAirport),
+                AirportCode.normalize(destinationAirport), null, null, pageSize, pageToken, format);
+    }
+
+    public static FlightResponseKey departureAirport(String departureAirport, Instant departureFrom,
+                                                     Instant departureTo, Integer pageSize, String pageToken,
+                                                     ResponseFormat format) {
+        return new FlightResponseKey(SearchMetrics.DEPARTURE_AIRPORT, AirportCode.normalize(departureAirport), null,
+                departureFrom, departureTo, pageSize, pageToken, format);
+    }
+}
@@ -0,0 +1,24 @@
+package com.flight.data.mgmt.cache;
+
+import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.model.AirportCode;
+
+import java.time.Instant;
+
+// Keyed on the exact Instants CrazySupplierMapper sends upstream: the supplier answers for those times, so searches
+// on the same day with different times must not share an entry
+public record SupplierSearchKey(String supplier,
+                                AirportCode departureAirport,
+                                AirportCode destinationAirport,
+                                Instant outboundDate,
+                                Instant inboundDate) {
+
+    public static SupplierSearchKey of(String supplier, FlightSearchCriteriaDTO criteria) {
+        return new SupplierSearchKey(
+                supplier,
+                AirportCode.of(criteria.getDepartureAirport()),
+                AirportCode.of(criteria.getDestinationAirport()),
+                criteria.getOutboundDate(),
+                criteria.getInboundDate());
+    }
+}
@@ -0,0 +1,127 @@
+package com.flight.data.mgmt.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of asynchronously loaded values with a fixed time-to-live.
+ * Concurrent lookups of a key that is still loading share the same in-flight future, so a burst of
+ * identical requests triggers a single load. Failed loads are never cached, and callers receive a copy of
+ * the shared future so that one caller cancelling its wait does not affect the others.
+ */
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // Every entry has the same TTL, so insertion order is also expiry order
+    private final Queue<Node<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(Duration ttl, int maxSize) {
+        this(ttl, maxSize, System::nanoTime);
+    }
+
+    TtlCache(Duration ttl, int maxSize, LongSupplier nanoClock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.nanoClock = nanoClock;
+    }
+
+    public CompletableFuture<V> getOrLoad(K key, Supplier<CompletableFuture<V>> loader) {
+        long now = nanoClock.getAsLong();
+        Entry<V> current = entries.get(key);
+        if (current != null && !current.isExpired(now)) {
+            hits.increment();
+            return current.value.copy();
+        }
+
+        Entry<V> created = new Entry<>();
+        Entry<V> winner = entries.compute(key, (k, existing) ->
+                existing != null && !existing.isExpired(now) ? existing : created);
+        if (winner != created) {
+            hits.increment();
+            return winner.value.copy();
+        }
+
+        misses.increment();
+        insertionOrder.add(new Node<>(key, created));
+        evict(now);
+        load(key, created, loader);
+        return created.value.copy();
+    }
+
+    private void load(K key, Entry<V> entry, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> loading;
+        try {
+            loading = loader.get();
+        } catch (RuntimeException e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+        loading.whenComplete((value, error) -> {
+            if (error != null) {
+                entries.remove(key, entry);
+                entry.value.completeExceptionally(error);
+            } else {
+                entry.expiresAt = nanoClock.getAsLong() + ttlNanos;
+                entry.value.complete(value);
+            }
+        });
+    }
+
+    private void evict(long now) {
+        Node<K, V> head;
+        while ((head = insertionOrder.peek()) != null
+                && (entries.size() > maxSize || head.entry.isExpired(now) || entries.get(head.key) != head.entry)) {
+            if (insertionOrder.remove(head) && entries.remove(head.key, head.entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    // Entries still loading are dropped too, so a load that raced the change behind the invalidation is not cached
+    public void invalidateIf(Predicate<? super K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, int size) {
+    }
+
+    private static final class Entry<V> {
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+        // Loading entries never expire; the TTL starts once the value is available
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+
+    private record Node<K, V>(K key, Entry<V> entry) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.flight.data.mgmt.config;
+
+import com.flight.data.mgmt.model.Flight;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Opt-in Hibernate second-level cache for {@link Flight} and query cache for the route and flight number lookups, held
+ * in heap by Caffeine through hibernate-jcache. Entity writes go through Hibernate, which updates the entity region and
+ * invalidates the query region on commit, so FlightService needs no cache calls of its own. The cache is local to each
+ * instance and nothing invalidates it across nodes.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    private static final String ENTITY_CACHE_NAME = "flightEntity";
+    private static final String QUERY_CACHE_NAME = "flightQuery";
+
+    private final boolean enabled;
+
+    public EntityCacheConfig(@Value("${flight.entity-cache.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // The timestamps region holds one entry per table and must never evict one: a query result cached before a write
+    // to its table would then be served as current
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheProperties(
+            @Value("${flight.entity-cache.entity.max-size:10000}") long entityMaxSize,
+            @Value("${flight.entity-cache.query.max-size:10000}") long queryMaxSize,
+            @Value("${flight.entity-cache.timestamps.max-size:1000}") long timestampsMaxSize) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+                // Hibernate closes the cache manager along with the session factory
+                properties.put(ConfigSettings.CACHE_MANAGER, cacheManager(Map.of(
+                        Flight.CACHE_REGION, entityMaxSize,
+                        Flight.QUERY_CACHE_REGION, queryMaxSize,
+                        RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryMaxSize,
+                        RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestampsMaxSize)));
+                // A region missing above fails startup instead of being created without a size bound
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+                // Region hit and miss counts are only kept with statistics on
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+
+    private static CacheManager cacheManager(Map<String, Long> maxSizes) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        maxSizes.forEach((region, maxSize) -> cacheManager.createCache(region,
+                new CaffeineConfiguration<>().setMaximumSize(OptionalLong.of(maxSize))));
+        return cacheManager;
+    }
+
+    // Same meter names and tags as TtlCacheMetrics, so hit ratios sit next to the other caches
+    @Bean
+    public MeterBinder entityCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            if (!enabled) {
+                return;
+            }
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            bindRegion(registry, statistics, ENTITY_CACHE_NAME,
+                    stats -> stats.getDomainDataRegionStatistics(Flight.CACHE_REGION));
+            bindRegion(registry, statistics, QUERY_CACHE_NAME,
+                    stats -> stats.getQueryRegionStatistics(Flight.QUERY_CACHE_REGION));
+        };
+    }
+
+    private static void bindRegion(MeterRegistry registry, Statistics statistics,
+                                   String cacheName, Function<Statistics, CacheRegionStatistics> region) {
+        FunctionCounter.builder("cache.gets", statistics, count(region, CacheRegionStatistics::getHitCount))
+                .tags("cache", cacheName, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", statistics, count(region, CacheRegionStatistics::getMissCount))
+                .tags("cache", cacheName, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.puts", statistics, count(region, CacheRegionStatistics::getPutCount))
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+
+    // Query regions are created on first use, so their statistics are missing until then
+    private static ToDoubleFunction<Statistics> count(Function<Statistics, CacheRegionStatistics> region,
+                                                      ToLongFunction<CacheRegionStatistics> counter) {
+        return statistics -> {
+            CacheRegionStatistics regionStatistics = region.apply(statistics);
+            return regionStatistics == null ? 0 : counter.applyAsLong(regionStatistics);
+        };
+    }
+}
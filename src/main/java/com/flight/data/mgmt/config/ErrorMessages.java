@@ -8,14 +8,22 @@ public class ErrorMessages {
     public static final String INVALID_DEPARTURE_AIRPORT = "Invalid departure airport code: %s";
     public static final String INVALID_DESTINATION_AIRPORT = "Invalid destination airport code: %s";
     public static final String SAME_AIRPORTS = "Departure and destination airports cannot be the same";
+    public static final String MISSING_TIMES = "Departure and arrival times are required";
     public static final String ARRIVAL_BEFORE_DEPARTURE = "Arrival time cannot be before departure time";
     public static final String INVALID_FARE = "Fare must be greater than 0";
     public static final String MISSING_AIRLINE = "Airline code is required";
     public static final String MISSING_SUPPLIER = "Supplier is required";
     public static final String FLIGHT_VALIDATION_FAILED = "Flight validation failed";
+    public static final String INVALID_PAGE_SIZE = "Page size must be between 1 and ";
+    public static final String INVALID_PAGE_TOKEN = "Invalid page token";
+    public static final String INVALID_EXPORT_FORMAT = "Unsupported export format: ";
+    public static final String MISSING_DEPARTURE_TIME = "Departure time is required";
+    public static final String INVALID_EXPORT_WINDOW = "departureTo cannot be before departureFrom";
 
     // Error Messages
     public static final String FLIGHT_NOT_FOUND = "Flight not found";
     public static final String FLIGHT_NOT_FOUND_WITH_NUMBER = "No flight found with name: %s";
+    public static final String WRITE_BEHIND_QUEUE_FULL = "Flight write queue is full, please retry shortly";
+    public static final String WRITE_BEHIND_STOPPED = "Flight writes are not accepted while the service shuts down";
 
 }
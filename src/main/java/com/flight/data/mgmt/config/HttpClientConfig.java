@@ -1,17 +1,25 @@
 package com.flight.data.mgmt.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
 
 @Configuration
 public class HttpClientConfig {
     @Bean
-    public HttpClient httpClient() {
-        return HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+    public HttpClient httpClient(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                 ExecutorService searchExecutor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10));
+        if (virtualThreads) {
+            // Response bodies and async completions are handled on virtual threads instead of the client's cached pool.
+            // The search executor is already one virtual thread per task, and Spring closes it after the client
+            builder.executor(searchExecutor);
+        }
+        return builder.build();
     }
 }
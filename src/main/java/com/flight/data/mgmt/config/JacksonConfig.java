@@ -3,26 +3,98 @@ package com.flight.data.mgmt.config;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.metrics.TimedCborHttpMessageConverter;
+import com.flight.data.mgmt.metrics.TimedJsonHttpMessageConverter;
+import com.flight.data.mgmt.metrics.TimedSmileHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
 public class JacksonConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    private final boolean blackbirdEnabled;
+
+    public JacksonConfig() {
+        this(false);
+    }
+
+    // Blackbird replaces reflective getter, setter and constructor calls with generated lambdas
+    @Autowired
+    public JacksonConfig(@Value("${flight.jackson.blackbird.enabled:false}") boolean blackbirdEnabled) {
+        this.blackbirdEnabled = blackbirdEnabled;
+    }
+
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = configure(new ObjectMapper());
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        return objectMapper;
+    }
+
+    // Binary consumers get Instants as epoch seconds with a nanosecond fraction, which skips ISO-8601 formatting and
+    // parsing on both ends while keeping the full precision the JSON strings carry
+    @Bean
+    public SmileMapper smileMapper() {
+        return binaryTimestamps(configure(new SmileMapper()));
+    }
+
+    @Bean
+    public CBORMapper cborMapper() {
+        return binaryTimestamps(configure(new CBORMapper()));
+    }
+
+    // Replaces Spring Boot's default JSON converter so response serialization shows up in the search stage timers
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   SearchMetrics searchMetrics) {
+        return new TimedJsonHttpMessageConverter(objectMapper, searchMetrics);
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(SmileMapper smileMapper,
+                                                                                             SearchMetrics searchMetrics) {
+        return new TimedSmileHttpMessageConverter(smileMapper, searchMetrics);
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(CBORMapper cborMapper,
+                                                                                           SearchMetrics searchMetrics) {
+        return new TimedCborHttpMessageConverter(cborMapper, searchMetrics);
+    }
 
+    private <T extends ObjectMapper> T configure(T objectMapper) {
         // Register JavaTimeModule for Java 8 date/time types
         objectMapper.registerModule(new JavaTimeModule());
+        if (blackbirdEnabled) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
 
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
 
         return objectMapper;
     }
 
+    private static <T extends ObjectMapper> T binaryTimestamps(T objectMapper) {
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, true);
+        objectMapper.configure(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS, true);
+        objectMapper.configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, true);
+        return objectMapper;
+    }
 }
@@ -0,0 +1,40 @@
+package com.flight.data.mgmt.config;
+
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Representations offered for flight lists, in order of preference when the client accepts several equally
+public enum ResponseFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(JacksonConfig.APPLICATION_SMILE),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    ResponseFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ResponseFormat negotiate(List<MediaType> accept) {
+        List<MediaType> acceptable = new ArrayList<>(accept);
+        acceptable.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : acceptable) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (ResponseFormat format : values()) {
+                if (mediaType.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,16 @@
+package com.flight.data.mgmt.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class SearchExecutorConfig {
+    @Bean(destroyMethod = "close")
+    public ExecutorService searchExecutor() {
+        // Search sources block on JDBC and HTTP, so each one gets its own virtual thread
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -0,0 +1,61 @@
+package com.flight.data.mgmt.config;
+
+import com.flight.data.mgmt.cache.SupplierSearchKey;
+import com.flight.data.mgmt.cache.TtlCache;
+import com.flight.data.mgmt.metrics.TtlCacheMetrics;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.resilience.Bulkhead;
+import com.flight.data.mgmt.resilience.CircuitBreaker;
+import com.flight.data.mgmt.supplier.FlightSupplierRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(SupplierProperties.class)
+public class SupplierConfig {
+
+    private static final String CACHE_NAME = "supplierSearch";
+
+    @Bean
+    public TtlCache<SupplierSearchKey, List<Flight>> supplierSearchCache(
+            @Value("${flight.supplier.cache.ttl:60s}") Duration ttl,
+            @Value("${flight.supplier.cache.max-size:10000}") int maxSize) {
+        return new TtlCache<>(ttl, maxSize);
+    }
+
+    @Bean
+    public MeterBinder supplierSearchCacheMetrics(TtlCache<SupplierSearchKey, List<Flight>> supplierSearchCache) {
+        return TtlCacheMetrics.of(CACHE_NAME, supplierSearchCache);
+    }
+
+    @Bean
+    public MeterBinder supplierResilienceMetrics(FlightSupplierRegistry flightSupplierRegistry) {
+        return registry -> flightSupplierRegistry.getSuppliers().forEach(supplier -> {
+            CircuitBreaker circuitBreaker = supplier.getCircuitBreaker();
+            Bulkhead bulkhead = supplier.getBulkhead();
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("flight.supplier.circuitbreaker.state", circuitBreaker,
+                                breaker -> breaker.getState() == state ? 1 : 0)
+                        .tags("supplier", supplier.getName(), "state", state.name().toLowerCase())
+                        .register(registry);
+            }
+            FunctionCounter.builder("flight.supplier.calls.rejected", circuitBreaker, CircuitBreaker::getRejectedCalls)
+                    .tags("supplier", supplier.getName(), "reason", "circuit_open")
+                    .register(registry);
+            FunctionCounter.builder("flight.supplier.calls.rejected", bulkhead, Bulkhead::getRejectedCalls)
+                    .tags("supplier", supplier.getName(), "reason", "bulkhead_full")
+                    .register(registry);
+            Gauge.builder("flight.supplier.bulkhead.active.calls", bulkhead, Bulkhead::getActiveCalls)
+                    .tag("supplier", supplier.getName())
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.flight.data.mgmt.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "flight.supplier")
+public class SupplierProperties {
+
+    private Settings defaults = Settings.builder()
+            .enabled(true)
+            .timeout(Duration.ofMillis(2500))
+            .maxConcurrentCalls(64)
+            .failureRateThreshold(50f)
+            .slowCallRateThreshold(50f)
+            .slowCallDuration(Duration.ofSeconds(2))
+            .slidingWindowSize(20)
+            .minimumNumberOfCalls(10)
+            .waitDurationInOpenState(Duration.ofSeconds(30))
+            .permittedCallsInHalfOpenState(3)
+            .build();
+
+    // Per-supplier overrides keyed by FlightSupplier.getName(); unset values fall back to the defaults
+    private Map<String, Settings> instances = new HashMap<>();
+
+    public Settings resolve(String supplierName) {
+        Settings override = instances.getOrDefault(supplierName, new Settings());
+        return Settings.builder()
+                .enabled(pick(override.getEnabled(), defaults.getEnabled()))
+                .timeout(pick(override.getTimeout(), defaults.getTimeout()))
+                .maxConcurrentCalls(pick(override.getMaxConcurrentCalls(), defaults.getMaxConcurrentCalls()))
+                .failureRateThreshold(pick(override.getFailureRateThreshold(), defaults.getFailureRateThreshold()))
+                .slowCallRateThreshold(pick(override.getSlowCallRateThreshold(), defaults.getSlowCallRateThreshold()))
+                .slowCallDuration(pick(override.getSlowCallDuration(), defaults.getSlowCallDuration()))
+                .slidingWindowSize(pick(override.getSlidingWindowSize(), defaults.getSlidingWindowSize()))
+                .minimumNumberOfCalls(pick(override.getMinimumNumberOfCalls(), defaults.getMinimumNumberOfCalls()))
+                .waitDurationInOpenState(pick(override.getWaitDurationInOpenState(), defaults.getWaitDurationInOpenState()))
+                .permittedCallsInHalfOpenState(pick(override.getPermittedCallsInHalfOpenState(),
+                        defaults.getPermittedCallsInHalfOpenState()))
+                .build();
+    }
+
+    private static <T> T pick(T override, T fallback) {
+        return override != null ? override : fallback;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Settings {
+        private Boolean enabled;
+        private Duration timeout;
+
+        // Bulkhead
+        private Integer maxConcurrentCalls;
+
+        // Circuit breaker
+        private Float failureRateThreshold;
+        private Float slowCallRateThreshold;
+        private Duration slowCallDuration;
+        private Integer slidingWindowSize;
+        private Integer minimumNumberOfCalls;
+        private Duration waitDurationInOpenState;
+        private Integer permittedCallsInHalfOpenState;
+    }
+}
@@ -1,15 +1,35 @@
 package com.flight.data.mgmt.controller;
 
+import com.flight.data.mgmt.cache.FlightResponseCache;
+import com.flight.data.mgmt.cache.FlightResponseCache.CachedResponse;
+import com.flight.data.mgmt.cache.FlightResponseKey;
+import com.flight.data.mgmt.config.JacksonConfig;
+import com.flight.data.mgmt.config.ResponseFormat;
 import com.flight.data.mgmt.dto.*;
+import com.flight.data.mgmt.service.FlightExportService;
+import com.flight.data.mgmt.service.FlightImportService;
+import com.flight.data.mgmt.service.FlightSearchListener;
 import com.flight.data.mgmt.service.FlightService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.List;
 
@@ -18,36 +38,171 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FlightController {
 
+    private static final Logger log = LoggerFactory.getLogger(FlightController.class);
+
+    static final String PARTIAL_RESULTS_HEADER = "X-Partial-Results";
+    static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    private static final String GZIP = "gzip";
+
     private final FlightService flightService;
+    private final FlightImportService flightImportService;
+    private final FlightExportService flightExportService;
+    private final FlightResponseCache flightResponseCache;
 
-    @GetMapping(value = "/search-airline", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/search-airline", produces = {MediaType.APPLICATION_JSON_VALUE,
+            JacksonConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(summary = "search flights", description = "returns list of flights")
     public ResponseEntity<List<FlightResponseDTO>> search(@Valid FlightSearchCriteriaDTO searchCriteria) {
 
-        List<FlightResponseDTO> flights = flightService.searchFlights(searchCriteria);
+        FlightSearchResultDTO result = flightService.searchFlights(searchCriteria);
+
+        return ResponseEntity.ok()
+                .header(PARTIAL_RESULTS_HEADER, String.valueOf(result.isPartial()))
+                .body(result.getFlights());
+    }
+
+    @GetMapping(value = "/search-airline/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "stream flight search",
+            description = "sends a 'flights' event per source as soon as it answers, local flights first, then a 'complete' event")
+    public SseEmitter streamSearch(@Valid FlightSearchCriteriaDTO searchCriteria) {
+        SseEmitter emitter = new SseEmitter();
+        flightService.streamFlights(searchCriteria, new FlightSearchListener() {
+            @Override
+            public void onFlights(FlightSearchBatchDTO batch) {
+                send(emitter, SseEmitter.event().name("flights").data(batch, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onComplete(FlightSearchSummaryDTO summary) {
+                send(emitter, SseEmitter.event().name("complete").data(summary, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    // A client that went away only loses the rest of its own stream; the container finishes the request
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropped search stream event: {}", e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/route", produces = {MediaType.APPLICATION_JSON_VALUE,
+            JacksonConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(summary = "search flights by routes", description = "returns one page of flights ordered by departure time")
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = FlightResponseDTO.class))))
+    public ResponseEntity<byte[]> searchByRoute(
+            @Valid @RequestParam String departureAirport, @RequestParam String destinationAirport,
+            @RequestParam(required = false) Integer pageSize, @RequestParam(required = false) String pageToken,
+            @RequestHeader HttpHeaders headers) {
+        ResponseFormat format = ResponseFormat.negotiate(headers.getAccept());
+        return cached(flightResponseCache.get(
+                FlightResponseKey.route(departureAirport, destinationAirport, pageSize, pageToken, format),
+                () -> flightService.searchByRoute(departureAirport, destinationAirport, pageSize, pageToken)), format, headers);
+    }
+
+    @GetMapping(value = "/departure-airport", produces = {MediaType.APPLICATION_JSON_VALUE,
+            JacksonConfig.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(summary = "search flights by airline, outbound and inbound time", description = "returns one page of flights ordered by departure time")
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = FlightResponseDTO.class))))
+    public ResponseEntity<byte[]> searchByDepartureAndDestination(
+            @RequestParam String departureAirport, @RequestParam Instant departureTime, @RequestParam(required = false) Instant destinationTime,
+            @RequestParam(required = false) Integer pageSize, @RequestParam(required = false) String pageToken,
+            @RequestHeader HttpHeaders headers) {
+        ResponseFormat format = ResponseFormat.negotiate(headers.getAccept());
+        return cached(flightResponseCache.get(
+                FlightResponseKey.departureAirport(departureAirport, departureTime, destinationTime, pageSize, pageToken, format),
+                () -> flightService.searchByDepartureAndDestination(departureAirport, departureTime, destinationTime, pageSize, pageToken)), format, headers);
+    }
 
-        return ResponseEntity.ok(flights);
+    // The body stays a plain list; the token for the next page, if any, travels in a header. Clients may keep the
+    // page but must revalidate it, which costs a 304 and no query while the cached copy is current.
+    private static ResponseEntity<byte[]> cached(CachedResponse page, ResponseFormat format, HttpHeaders request) {
+        boolean gzip = page.gzipBody() != null && acceptsGzip(request);
+        if (page.matches(request.getIfNoneMatch())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(page.etag(gzip))
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .eTag(page.etag(gzip))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (page.nextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, page.nextPageToken());
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return response.body(gzip ? page.gzipBody() : page.body());
     }
 
-    @GetMapping(value = "/route", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "search flights by routes", description = "returns list of flights")
-    public ResponseEntity<List<FlightResponseDTO>> searchByRoute(
-            @Valid @RequestParam String departureAirport, @RequestParam String destinationAirport) {
-        return ResponseEntity.ok(flightService.searchByRoute(departureAirport, destinationAirport));
+    // An explicit gzip entry overrides "*", and a q-value of 0 refuses the coding
+    private static boolean acceptsGzip(HttpHeaders request) {
+        double gzip = -1;
+        double any = -1;
+        for (String acceptEncoding : request.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : acceptEncoding.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim();
+                if (name.equalsIgnoreCase(GZIP)) {
+                    gzip = qValue(parts);
+                } else if (name.equals("*")) {
+                    any = qValue(parts);
+                }
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
     }
 
-    @GetMapping(value = "/departure-airport", produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "search flights by airline, outbound and inbound time", description = "returns list of flights")
-    public ResponseEntity<List<FlightResponseDTO>> searchByDepartureAndDestination(
-            @RequestParam String departureAirport, @RequestParam Instant departureTime, @RequestParam(required = false) Instant destinationTime) {
-        return ResponseEntity.ok(flightService.searchByDepartureAndDestination(departureAirport, departureTime, destinationTime));
+    // A malformed q-value counts as a refusal rather than a guess
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            int equals = parts[i].indexOf('=');
+            if (equals > 0 && parts[i].substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parts[i].substring(equals + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 
+    @GetMapping(value = "/export")
+    @Operation(summary = "export flights", description = "streams flights as NDJSON or CSV, optionally filtered by route and departure window")
+    public ResponseEntity<StreamingResponseBody> exportFlights(FlightExportCriteriaDTO criteria,
+                                                               @RequestParam(defaultValue = "ndjson") String format) {
+        FlightExportService.Format exportFormat = FlightExportService.Format.of(format);
+        flightExportService.validate(criteria);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(out -> flightExportService.export(criteria, exportFormat, out));
+    }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "create Flight entity", description = "returns 201")
+    @Operation(summary = "create Flight entity",
+            description = "returns 201, or 202 in write-behind mode once the flight is queued; 503 when the queue is full")
     public ResponseEntity<FlightResponseDTO> createFlight(@RequestBody @Valid FlightRequestDTO flight) {
-        return ResponseEntity.ok(flightService.createFlight(flight));
+        FlightResponseDTO created = flightService.createFlight(flight);
+        if (flightService.isWriteBehindEnabled()) {
+            return ResponseEntity.accepted().body(created);
+        }
+        return ResponseEntity.ok(created);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "bulk import flights", description = "accepts NDJSON or a JSON array, returns per-record errors")
+    public ResponseEntity<FlightImportResultDTO> importFlights(InputStream body) throws IOException {
+        return ResponseEntity.ok(flightImportService.importFlights(body));
     }
 
     @PutMapping(value = "/{flightNumber}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -1,12 +1,16 @@
 package com.flight.data.mgmt.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class CrazySupplierFlightResponseDTO {
     private String carrier;
     private double basePrice;
@@ -0,0 +1,26 @@
+package com.flight.data.mgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+
+// Every filter is optional; departureFrom and departureTo bound the departure time inclusively
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightExportCriteriaDTO {
+    private String departureAirport;
+
+    private String destinationAirport;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant departureFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant departureTo;
+}
@@ -0,0 +1,18 @@
+package com.flight.data.mgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightImportErrorDTO {
+    // 1-based position of the record in the request body
+    private long record;
+    private List<String> errors;
+}
@@ -0,0 +1,22 @@
+package com.flight.data.mgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightImportResultDTO {
+    private long received;
+    private long imported;
+    private long rejected;
+    private List<FlightImportErrorDTO> errors;
+
+    // true when more records were rejected than are listed in errors
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,19 @@
+package com.flight.data.mgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightPageDTO {
+    private List<FlightResponseDTO> flights;
+
+    // null on the last page
+    private String nextPageToken;
+}
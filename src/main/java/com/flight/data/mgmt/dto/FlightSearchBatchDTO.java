@@ -0,0 +1,22 @@
+package com.flight.data.mgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSearchBatchDTO {
+    // "local" or the supplier's name
+    private String source;
+
+    // time since the search started
+    private long elapsedMs;
+
+    private List<FlightResponseDTO> flights;
+}
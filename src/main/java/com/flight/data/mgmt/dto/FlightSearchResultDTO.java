@@ -0,0 +1,19 @@
+package com.flight.data.mgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSearchResultDTO {
+    private List<FlightResponseDTO> flights;
+
+    // true when at least one source missed the search deadline or failed
+    private boolean partial;
+}
@@ -0,0 +1,20 @@
+package com.flight.data.mgmt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSearchSummaryDTO {
+    // true when at least one source missed the search deadline or failed
+    private boolean partial;
+
+    // total across every batch sent
+    private int flights;
+
+    private long elapsedMs;
+}
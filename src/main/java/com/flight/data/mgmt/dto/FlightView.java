@@ -0,0 +1,15 @@
+package com.flight.data.mgmt.dto;
+
+import java.time.Instant;
+
+// Read-only row projected straight from JPQL; never managed by the persistence context
+public record FlightView(Long id,
+                         String flightNumber,
+                         String airLine,
+                         String supplier,
+                         double fare,
+                         String departureAirport,
+                         String destinationAirport,
+                         Instant departureTime,
+                         Instant arrivalTime) {
+}
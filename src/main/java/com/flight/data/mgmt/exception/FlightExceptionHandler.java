@@ -3,6 +3,7 @@ package com.flight.data.mgmt.exception;
 import com.flight.data.mgmt.dto.ErrorResponseDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -34,6 +35,23 @@ public class FlightExceptionHandler {
                 .body(error);
     }
 
+    // Rejected before anything was acknowledged, so a short Retry-After is safe
+    @ExceptionHandler(FlightWriteRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ErrorResponseDTO> handleFlightWriteRejectedException(FlightWriteRejectedException e) {
+
+        log.warn(e.getMessage());
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                "Service Temporarily Unavailable",
+                Collections.singletonList(e.getMessage())
+        );
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler({UnresolvedAddressException.class, IOException.class})
     @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
     public ResponseEntity<ErrorResponseDTO> handleNetworkException(Exception e) {
@@ -0,0 +1,9 @@
+package com.flight.data.mgmt.exception;
+
+// A write-behind create that could not be queued; nothing was acknowledged, so the client may retry
+public class FlightWriteRejectedException extends RuntimeException {
+
+    public FlightWriteRejectedException(String message) {
+        super(message);
+    }
+}
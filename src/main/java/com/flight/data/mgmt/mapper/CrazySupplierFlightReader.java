@@ -0,0 +1,135 @@
+package com.flight.data.mgmt.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.flight.data.mgmt.model.Flight;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Reads one CrazySupplier flight object straight from the parser into a {@link Flight}, without the intermediate
+ * {@code CrazySupplierFlightResponseDTO} or a builder. Values of the usual shape are taken from the tokens directly;
+ * anything else (numeric timestamps, offsets, fractions, numbers sent as strings) is handed to Jackson, so the result
+ * matches {@link CrazySupplierMapper#toFlight} on the DTO for every input Jackson accepts.
+ */
+public class CrazySupplierFlightReader {
+
+    // "2030-01-01T10:00:00Z"
+    private static final int UTC_SECONDS_LENGTH = 20;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    private final ObjectReader stringReader;
+    private final ObjectReader doubleReader;
+    private final ObjectReader instantReader;
+
+    public CrazySupplierFlightReader(ObjectMapper objectMapper) {
+        this.stringReader = objectMapper.readerFor(String.class);
+        this.doubleReader = objectMapper.readerFor(Double.class);
+        this.instantReader = objectMapper.readerFor(Instant.class);
+    }
+
+    // The parser must be positioned on the START_OBJECT of the flight; it is left on the matching END_OBJECT
+    public Flight read(JsonParser parser) throws IOException {
+        Flight flight = new Flight();
+        flight.setSupplier(CrazySupplierMapper.SUPPLIER_NAME);
+        double basePrice = 0;
+        double tax = 0;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "carrier" -> flight.setAirLine(readString(parser));
+                case "basePrice" -> basePrice = readDouble(parser);
+                case "tax" -> tax = readDouble(parser);
+                case "departureAirport" -> flight.setDepartureAirport(readString(parser));
+                case "arrivalAirport" -> flight.setDestinationAirport(readString(parser));
+                case "outboundDateTime" -> flight.setDepartureTime(readInstant(parser));
+                case "inboundDateTime" -> flight.setArrivalTime(readInstant(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        flight.setFare(basePrice + tax);
+        return flight;
+    }
+
+    private String readString(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NULL -> null;
+            default -> stringReader.readValue(parser);
+        };
+    }
+
+    private double readDouble(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getDoubleValue();
+        }
+        // null reads as 0, like a primitive DTO field
+        Double value = token == JsonToken.VALUE_NULL ? null : doubleReader.readValue(parser);
+        return value == null ? 0 : value;
+    }
+
+    private Instant readInstant(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            Instant instant = parseUtcSeconds(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (instant != null) {
+                return instant;
+            }
+        }
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : instantReader.readValue(parser);
+    }
+
+    // Parses exactly yyyy-MM-ddTHH:mm:ssZ without allocating anything but the result; returns null for any other
+    // shape or an out-of-range field so the caller falls back to Jackson and its error reporting
+    static Instant parseUtcSeconds(char[] text, int offset, int length) {
+        if (length != UTC_SECONDS_LENGTH
+                || text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+                || text[offset + 13] != ':' || text[offset + 16] != ':' || text[offset + 19] != 'Z') {
+            return null;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = digits(text, offset + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        boolean leap = Year.isLeap(year);
+        if (day > Month.of(month).length(leap)) {
+            return null;
+        }
+        return Instant.ofEpochSecond(epochDay(year, month, day, leap) * 86_400L + hour * 3_600L + minute * 60L + second);
+    }
+
+    // Same arithmetic as LocalDate.toEpochDay, for years from 0000 to 9999
+    private static long epochDay(int year, int month, int day, boolean leap) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367L * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total -= leap ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    // -1 unless every character is an ASCII digit
+    private static int digits(char[] text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -6,14 +6,9 @@ import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
 import com.flight.data.mgmt.model.Flight;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-import java.time.ZoneId;
-
 @Component
 public class CrazySupplierMapper {
-    private static final String SUPPLIER_NAME = "CrazySupplier";
-    private static final ZoneId UTC = ZoneId.of("UTC");
-    private static final ZoneId CET = ZoneId.of("CET");
+    static final String SUPPLIER_NAME = "CrazySupplier";
 
     public Flight toFlight(CrazySupplierFlightResponseDTO dto) {
         if (dto == null) {
@@ -26,17 +21,13 @@ public class CrazySupplierMapper {
                 .fare(calculateTotalFare(dto))
                 .departureAirport(dto.getDepartureAirport())
                 .destinationAirport(dto.getArrivalAirport())
-                .departureTime(convertToUTC(dto.getOutboundDateTime()))
-                .arrivalTime(convertToUTC(dto.getInboundDateTime()))
+                // The supplier's timestamps carry their offset, so the parsed Instants are already absolute and
+                // need no CET to UTC shift
+                .departureTime(dto.getOutboundDateTime())
+                .arrivalTime(dto.getInboundDateTime())
                 .build();
     }
 
-    private Instant convertToUTC(Instant outboundDateTime) {
-        return outboundDateTime.atZone(CET)
-                .withZoneSameInstant(UTC)
-                .toInstant();
-    }
-
     private double calculateTotalFare(CrazySupplierFlightResponseDTO crazySupplierFlightResponseDTO) {
         return crazySupplierFlightResponseDTO.getBasePrice() + crazySupplierFlightResponseDTO.getTax();
     }
@@ -2,6 +2,7 @@ package com.flight.data.mgmt.mapper;
 
 import com.flight.data.mgmt.dto.FlightRequestDTO;
 import com.flight.data.mgmt.dto.FlightResponseDTO;
+import com.flight.data.mgmt.dto.FlightView;
 import com.flight.data.mgmt.model.Flight;
 import org.springframework.stereotype.Component;
 
@@ -20,6 +21,31 @@ public class FlightMapper {
         return dto;
     }
 
+    public FlightResponseDTO toFlightResponseDTO(FlightView flight) {
+        return new FlightResponseDTO(
+                flight.flightNumber(),
+                flight.airLine(),
+                flight.supplier(),
+                flight.fare(),
+                flight.departureAirport(),
+                flight.destinationAirport(),
+                flight.departureTime(),
+                flight.arrivalTime());
+    }
+
+    public FlightView toFlightView(Flight flight) {
+        return new FlightView(
+                flight.getId(),
+                flight.getFlightNumber(),
+                flight.getAirLine(),
+                flight.getSupplier(),
+                flight.getFare(),
+                flight.getDepartureAirport(),
+                flight.getDestinationAirport(),
+                flight.getDepartureTime(),
+                flight.getArrivalTime());
+    }
+
     public Flight toFlightDto(FlightRequestDTO flightRequestDTO) {
         return Flight.builder()
                 .airLine(flightRequestDTO.getAirline())
@@ -0,0 +1,108 @@
+package com.flight.data.mgmt.metrics;
+
+import com.flight.data.mgmt.resilience.CallNotPermittedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Timers and result-size summaries for each stage of a flight search. Tags are limited to the endpoint, stage,
+ * supplier and outcome; routes are left out because airport pairs would give every series unbounded cardinality.
+ * Percentile histograms are switched on per meter name under {@code management.metrics.distribution.*}.
+ */
+@Component
+public class SearchMetrics {
+
+    public static final String STAGE_TIMER = "flight.search.stage";
+    public static final String RESULTS_SUMMARY = "flight.search.results";
+    public static final String SUPPLIER_REQUEST_TIMER = "flight.supplier.requests";
+    public static final String SUPPLIER_STAGE_TIMER = "flight.supplier.stage";
+
+    public static final String SEARCH = "search-airline";
+    public static final String ROUTE = "route";
+    public static final String DEPARTURE_AIRPORT = "departure-airport";
+    public static final String SEARCH_STREAM = "search-airline-stream";
+
+    public enum Stage {
+        VALIDATION, LOCAL_QUERY, SUPPLIER_SEARCH, MAPPING, SERIALIZATION;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum SupplierStage {
+        HTTP, PARSE;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final Meter.MeterProvider<Timer> stageTimers;
+    private final Meter.MeterProvider<DistributionSummary> resultSummaries;
+    private final Meter.MeterProvider<Timer> supplierRequestTimers;
+    private final Meter.MeterProvider<Timer> supplierStageTimers;
+
+    public SearchMetrics(MeterRegistry meterRegistry) {
+        this.stageTimers = Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of a flight search")
+                .withRegistry(meterRegistry);
+        this.resultSummaries = DistributionSummary.builder(RESULTS_SUMMARY)
+                .description("Flights returned per search and source")
+                .baseUnit("flights")
+                .withRegistry(meterRegistry);
+        this.supplierRequestTimers = Timer.builder(SUPPLIER_REQUEST_TIMER)
+                .description("Supplier calls by outcome, including timeouts and rejected calls")
+                .withRegistry(meterRegistry);
+        this.supplierStageTimers = Timer.builder(SUPPLIER_STAGE_TIMER)
+                .description("Supplier HTTP exchange and response parsing time")
+                .withRegistry(meterRegistry);
+    }
+
+    public static boolean isSearchEndpoint(String endpoint) {
+        return SEARCH.equals(endpoint) || ROUTE.equals(endpoint) || DEPARTURE_AIRPORT.equals(endpoint);
+    }
+
+    public void recordStage(String endpoint, Stage stage, long startNanos) {
+        stageTimers.withTags("endpoint", endpoint, "stage", stage.tag)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResults(String endpoint, String source, int flights) {
+        resultSummaries.withTags("endpoint", endpoint, "source", source).record(flights);
+    }
+
+    public void recordSupplierStage(String supplier, SupplierStage stage, long startNanos) {
+        supplierStageTimers.withTags("supplier", supplier, "stage", stage.tag)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Records the call once it completes, tagged with how it ended
+    public <T> CompletableFuture<T> timeSupplierRequest(String supplier, CompletableFuture<T> call) {
+        long start = System.nanoTime();
+        return call.whenComplete((result, error) -> supplierRequestTimers
+                .withTags(Tags.of("supplier", supplier, "outcome", outcome(error)))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private static String outcome(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause == null) {
+            return "success";
+        }
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof CallNotPermittedException || cause instanceof RejectedExecutionException) {
+            return "rejected";
+        }
+        return "error";
+    }
+}
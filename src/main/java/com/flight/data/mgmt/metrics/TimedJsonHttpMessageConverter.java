@@ -0,0 +1,49 @@
+package com.flight.data.mgmt.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Times JSON serialization of search responses, tagged with the last segment of the matched path pattern
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final SearchMetrics searchMetrics;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, SearchMetrics searchMetrics) {
+        super(objectMapper);
+        this.searchMetrics = searchMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        super.writeInternal(object, type, outputMessage);
+        recordSerialization(searchMetrics, start);
+    }
+
+    // Shared with the Smile and CBOR converters, which cannot extend this one
+    static void recordSerialization(SearchMetrics searchMetrics, long start) {
+        String endpoint = endpoint();
+        if (SearchMetrics.isSearchEndpoint(endpoint)) {
+            searchMetrics.recordStage(endpoint, SearchMetrics.Stage.SERIALIZATION, start);
+        }
+    }
+
+    private static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = attributes == null ? null
+                : attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(pattern instanceof String path)) {
+            return null;
+        }
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
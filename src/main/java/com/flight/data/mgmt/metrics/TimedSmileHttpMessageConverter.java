@@ -0,0 +1,27 @@
+package com.flight.data.mgmt.metrics;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+public class TimedSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    private final SearchMetrics searchMetrics;
+
+    public TimedSmileHttpMessageConverter(SmileMapper objectMapper, SearchMetrics searchMetrics) {
+        super(objectMapper);
+        this.searchMetrics = searchMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        super.writeInternal(object, type, outputMessage);
+        TimedJsonHttpMessageConverter.recordSerialization(searchMetrics, start);
+    }
+}
@@ -0,0 +1,30 @@
+package com.flight.data.mgmt.metrics;
+
+import com.flight.data.mgmt.cache.TtlCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public final class TtlCacheMetrics {
+
+    private TtlCacheMetrics() {
+    }
+
+    // Same meter names and tags as Micrometer's own cache binders, so cache dashboards work unchanged
+    public static MeterBinder of(String cacheName, TtlCache<?, ?> ttlCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", ttlCache, cache -> cache.stats().hits())
+                    .tags("cache", cacheName, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", ttlCache, cache -> cache.stats().misses())
+                    .tags("cache", cacheName, "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", ttlCache, cache -> cache.stats().evictions())
+                    .tag("cache", cacheName)
+                    .register(registry);
+            Gauge.builder("cache.size", ttlCache, cache -> cache.stats().size())
+                    .tag("cache", cacheName)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.flight.data.mgmt.model;
+
+/**
+ * Three-letter IATA airport code packed into the low 15 bits of an int (5 bits per letter, A=1 .. Z=26).
+ * Codes are case-insensitive and canonicalised to upper case. Instances are interned, so {@link #of} does not
+ * allocate once a code has been seen.
+ */
+public final class AirportCode implements Comparable<AirportCode> {
+
+    public static final int BITS = 15;
+    private static final int BITS_PER_LETTER = 5;
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+
+    private static final AirportCode[] INTERNED = new AirportCode[1 << BITS];
+
+    private final int packed;
+    private final String code;
+
+    private AirportCode(int packed) {
+        this.packed = packed;
+        this.code = new String(new char[]{letter(packed, 2), letter(packed, 1), letter(packed, 0)});
+    }
+
+    public static boolean isValid(CharSequence code) {
+        return pack(code) >= 0;
+    }
+
+    // Returns the packed code, or -1 if the value is not exactly three ASCII letters
+    public static int pack(CharSequence code) {
+        if (code == null || code.length() != 3) {
+            return -1;
+        }
+        int packed = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = (code.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            packed = packed << BITS_PER_LETTER | (letter + 1);
+        }
+        return packed;
+    }
+
+    public static AirportCode of(CharSequence code) {
+        int packed = pack(code);
+        if (packed < 0) {
+            throw new IllegalArgumentException("Invalid airport code: " + code);
+        }
+        return fromPacked(packed);
+    }
+
+    public static AirportCode fromPacked(int packed) {
+        AirportCode airportCode = INTERNED[packed];
+        if (airportCode == null) {
+            // Racing threads may both create an instance; equality is by packed value, so either one is fine
+            airportCode = new AirportCode(packed);
+            INTERNED[packed] = airportCode;
+        }
+        return airportCode;
+    }
+
+    // Upper-case form of a valid code, or the value unchanged if it is not a valid code
+    public static String normalize(String code) {
+        int packed = pack(code);
+        return packed < 0 ? code : fromPacked(packed).code;
+    }
+
+    public int packed() {
+        return packed;
+    }
+
+    private static char letter(int packed, int position) {
+        return (char) ('A' - 1 + (packed >>> (position * BITS_PER_LETTER) & LETTER_MASK));
+    }
+
+    @Override
+    public int compareTo(AirportCode other) {
+        return Integer.compare(packed, other.packed);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof AirportCode airportCode && airportCode.packed == packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return packed;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
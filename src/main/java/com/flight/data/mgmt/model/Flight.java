@@ -7,22 +7,33 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 
 @Entity
 @Table(name = "flights", indexes = {
-        // Composite indexes for patterns route, airline and departure time
-        @Index(name = "idx_route", columnList = "departureAirport, destinationAirport"),
+        // Composite indexes for patterns route, airline and departure time; route lookups use the
+        // (departureAirport, destinationAirport) prefix of idx_route_departure
+        @Index(name = "idx_route_departure", columnList = "departureAirport, destinationAirport, departureTime"),
         @Index(name = "idx_airline_departure", columnList = "departureAirport, departureTime")
 })
+// Only cached when flight.entity-cache.enabled turns the second-level cache on
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Flight.CACHE_REGION)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Flight {
+    public static final String CACHE_REGION = "flight";
+    public static final String QUERY_CACHE_REGION = "flight-query";
+
+    // Sequence ids are fetched in blocks, which lets Hibernate batch inserts (IDENTITY would force one INSERT per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flights_seq")
+    @SequenceGenerator(name = "flights_seq", sequenceName = "flights_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "flight_number", unique = true)
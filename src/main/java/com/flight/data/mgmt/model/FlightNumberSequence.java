@@ -0,0 +1,26 @@
+package com.flight.data.mgmt.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Next unleased flight number per airline, shared by every application instance
+@Entity
+@Table(name = "flight_number_sequences")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightNumberSequence {
+    @Id
+    @Column(name = "air_line")
+    private String airLine;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,44 @@
+package com.flight.data.mgmt.repository;
+
+import com.flight.data.mgmt.dto.FlightView;
+import com.flight.data.mgmt.model.Flight;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last flight on a page in (departureTime, id) order. Serialised as an opaque URL-safe token so
+ * clients cannot depend on its contents.
+ */
+public record FlightCursor(Instant departureTime, long id) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    public static FlightCursor of(Flight flight) {
+        return new FlightCursor(flight.getDepartureTime(), flight.getId());
+    }
+
+    public static FlightCursor of(FlightView flight) {
+        return new FlightCursor(flight.departureTime(), flight.id());
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(departureTime.getEpochSecond())
+                .putInt(departureTime.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    // Throws IllegalArgumentException for anything that was not produced by encode()
+    public static FlightCursor decode(String token) {
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        if (bytes.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Unexpected page token length: " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Instant departureTime = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        return new FlightCursor(departureTime, buffer.getLong());
+    }
+}
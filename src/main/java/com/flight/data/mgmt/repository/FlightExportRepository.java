@@ -0,0 +1,13 @@
+package com.flight.data.mgmt.repository;
+
+import com.flight.data.mgmt.model.Flight;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+public interface FlightExportRepository {
+
+    // Cursor-backed stream ordered by departure time; null filters are ignored. Must be consumed inside a transaction
+    Stream<Flight> streamFlights(String departureAirport, String destinationAirport,
+                                 Instant departureFrom, Instant departureTo, int fetchSize);
+}
@@ -0,0 +1,58 @@
+package com.flight.data.mgmt.repository;
+
+import com.flight.data.mgmt.model.Flight;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+public class FlightExportRepositoryImpl implements FlightExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Flight> streamFlights(String departureAirport, String destinationAirport,
+                                        Instant departureFrom, Instant departureTo, int fetchSize) {
+        StringBuilder jpql = new StringBuilder("SELECT f FROM Flight f WHERE 1 = 1");
+        if (departureAirport != null) {
+            jpql.append(" AND f.departureAirport = :departureAirport");
+        }
+        if (destinationAirport != null) {
+            jpql.append(" AND f.destinationAirport = :destinationAirport");
+        }
+        if (departureFrom != null) {
+            jpql.append(" AND f.departureTime >= :departureFrom");
+        }
+        if (departureTo != null) {
+            jpql.append(" AND f.departureTime <= :departureTo");
+        }
+        jpql.append(" ORDER BY f.departureTime, f.id");
+
+        // A full-table export would otherwise push every flight through the entity cache and evict the hot entries.
+        // Set on the session rather than as a query hint: a hint only lasts until the scroll opens, before any row is
+        // read. The export runs in a transaction of its own, so no other work shares this session
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        TypedQuery<Flight> query = entityManager.createQuery(jpql.toString(), Flight.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (departureAirport != null) {
+            query.setParameter("departureAirport", departureAirport);
+        }
+        if (destinationAirport != null) {
+            query.setParameter("destinationAirport", destinationAirport);
+        }
+        if (departureFrom != null) {
+            query.setParameter("departureFrom", departureFrom);
+        }
+        if (departureTo != null) {
+            query.setParameter("departureTo", departureTo);
+        }
+        return query.getResultStream();
+    }
+}
@@ -0,0 +1,19 @@
+package com.flight.data.mgmt.repository;
+
+import com.flight.data.mgmt.model.FlightNumberSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface FlightNumberSequenceRepository extends JpaRepository<FlightNumberSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM FlightNumberSequence s WHERE s.airLine = :airLine")
+    Optional<FlightNumberSequence> findForUpdate(@Param("airLine") String airLine);
+}
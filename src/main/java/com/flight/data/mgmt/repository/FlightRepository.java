@@ -1,37 +1,146 @@
 package com.flight.data.mgmt.repository;
 
+import com.flight.data.mgmt.dto.FlightView;
 import com.flight.data.mgmt.model.Flight;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, FlightExportRepository {
 
-    @Query("SELECT f FROM Flight f WHERE " +
+    // Read paths project into FlightView in read-only transactions: no entity hydration, snapshots or flushes
+    String FLIGHT_VIEW = "SELECT new com.flight.data.mgmt.dto.FlightView(" +
+            "f.id, f.flightNumber, f.airLine, f.supplier, f.fare, " +
+            "f.departureAirport, f.destinationAirport, f.departureTime, f.arrivalTime) FROM Flight f ";
+
+    // Range scan on idx_route_departure: only flights of the route departing inside the window are read.
+    // Route and flight number queries are query-cached when flight.entity-cache.enabled is set; Hibernate drops the
+    // cached results whenever the flights table is written, so they never outlive a committed write.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Flight.QUERY_CACHE_REGION)
+    })
+    @Transactional(readOnly = true)
+    @Query(FLIGHT_VIEW + "WHERE " +
+            "f.departureAirport = :departureAirport AND " +
+            "f.destinationAirport = :destinationAirport AND " +
+            "f.departureTime >= :departureFrom AND " +
+            "f.departureTime <= :departureTo " +
+            "ORDER BY f.departureTime, f.id")
+    List<FlightView> findRouteViews(
+            @Param("departureAirport") String departureAirport,
+            @Param("destinationAirport") String destinationAirport,
+            @Param("departureFrom") Instant departureFrom,
+            @Param("departureTo") Instant departureTo
+    );
+
+    // Keyset pages in (departureTime, id) order: the first page, then every page after the last flight seen
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Flight.QUERY_CACHE_REGION)
+    })
+    @Transactional(readOnly = true)
+    @Query(FLIGHT_VIEW + "WHERE " +
+            "f.departureAirport = :departureAirport AND " +
+            "f.destinationAirport = :destinationAirport " +
+            "ORDER BY f.departureTime, f.id")
+    List<FlightView> findRoutePage(
+            @Param("departureAirport") String departureAirport,
+            @Param("destinationAirport") String destinationAirport,
+            Limit limit
+    );
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Flight.QUERY_CACHE_REGION)
+    })
+    @Transactional(readOnly = true)
+    @Query(FLIGHT_VIEW + "WHERE " +
+            "f.departureAirport = :departureAirport AND " +
+            "f.destinationAirport = :destinationAirport AND " +
+            "f.departureTime >= :afterTime AND " +
+            "(f.departureTime > :afterTime OR f.id > :afterId) " +
+            "ORDER BY f.departureTime, f.id")
+    List<FlightView> findRoutePageAfter(
+            @Param("departureAirport") String departureAirport,
+            @Param("destinationAirport") String destinationAirport,
+            @Param("afterTime") Instant afterTime,
+            @Param("afterId") long afterId,
+            Limit limit
+    );
+
+    // Departure windows are plain conjunctions so idx_airline_departure is range scanned on (airport, time);
+    // a catch-all "(:to IS NULL OR ...)" would leave the planner filtering every flight from the airport.
+    // Keyset pages pass max(window start, cursor time) as the lower bound and keep the tie-break as a residual filter.
+    @Transactional(readOnly = true)
+    @Query(FLIGHT_VIEW + "WHERE " +
+            "f.departureAirport = :departureAirport AND " +
+            "f.departureTime >= :departureFrom " +
+            "ORDER BY f.departureTime, f.id")
+    List<FlightView> findDeparturePageFrom(
+            @Param("departureAirport") String departureAirport,
+            @Param("departureFrom") Instant departureFrom,
+            Limit limit
+    );
+
+    @Transactional(readOnly = true)
+    @Query(FLIGHT_VIEW + "WHERE " +
+            "f.departureAirport = :departureAirport AND " +
+            "f.departureTime >= :departureFrom AND " +
+            "(f.departureTime > :afterTime OR f.id > :afterId) " +
+            "ORDER BY f.departureTime, f.id")
+    List<FlightView> findDeparturePageFromAfter(
+            @Param("departureAirport") String departureAirport,
+            @Param("departureFrom") Instant departureFrom,
+            @Param("afterTime") Instant afterTime,
+            @Param("afterId") long afterId,
+            Limit limit
+    );
+
+    @Transactional(readOnly = true)
+    @Query(FLIGHT_VIEW + "WHERE " +
             "f.departureAirport = :departureAirport AND " +
-            "f.destinationAirport = :destinationAirport")
-    List<Flight> findByRoute(
+            "f.departureTime >= :departureFrom AND " +
+            "f.departureTime <= :departureTo " +
+            "ORDER BY f.departureTime, f.id")
+    List<FlightView> findDeparturePageBetween(
             @Param("departureAirport") String departureAirport,
-            @Param("destinationAirport") String destinationAirport
+            @Param("departureFrom") Instant departureFrom,
+            @Param("departureTo") Instant departureTo,
+            Limit limit
     );
 
-    @Query("SELECT f FROM Flight f WHERE " +
+    @Transactional(readOnly = true)
+    @Query(FLIGHT_VIEW + "WHERE " +
             "f.departureAirport = :departureAirport AND " +
-            "(:destinationTime IS NULL OR " +
-            "   (f.departureTime >= :departureTime AND f.departureTime <= :destinationTime)" +
-            ")")
-    List<Flight> findByDepartureAndDestination(
+            "f.departureTime >= :departureFrom AND " +
+            "f.departureTime <= :departureTo AND " +
+            "(f.departureTime > :afterTime OR f.id > :afterId) " +
+            "ORDER BY f.departureTime, f.id")
+    List<FlightView> findDeparturePageBetweenAfter(
             @Param("departureAirport") String departureAirport,
-            @Param("departureTime") Instant departureTime,
-            @Param("destinationTime") Instant destinationTime
+            @Param("departureFrom") Instant departureFrom,
+            @Param("departureTo") Instant departureTo,
+            @Param("afterTime") Instant afterTime,
+            @Param("afterId") long afterId,
+            Limit limit
     );
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Flight.QUERY_CACHE_REGION)
+    })
     @Query("SELECT f FROM Flight f WHERE f.flightNumber = :flightNumber")
     Optional<Flight> findByFlightNumber(@Param("flightNumber") String flightNumber);
 }
@@ -0,0 +1,218 @@
+package com.flight.data.mgmt.repository;
+
+import com.flight.data.mgmt.model.AirportCode;
+import com.flight.data.mgmt.model.Flight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory read model of the flights table, keyed by packed (departure, destination) airport codes with the flights
+ * of each route ordered by departure time. Loaded once before the application starts serving requests and kept up to
+ * date by FlightService on every create, update and delete. Writes made by other application instances are not seen,
+ * so this is only suitable for single-writer deployments.
+ */
+@Component
+public class FlightRouteIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRouteIndex.class);
+
+    private static final Comparator<FlightKey> BY_DEPARTURE_TIME =
+            Comparator.comparing(FlightKey::departureTime).thenComparingLong(FlightKey::id);
+
+    // Rough per-object sizes for a 64-bit JVM with compressed oops, used for the memory report
+    private static final long FLIGHT_BYTES = 56;
+    private static final long INSTANT_BYTES = 24;
+    private static final long STRING_BYTES = 40;
+    private static final long FLIGHT_KEY_BYTES = 24;
+    private static final long SKIP_LIST_ENTRY_BYTES = 48;
+    private static final long ID_MAP_ENTRY_BYTES = 48;
+    private static final long ROUTE_BYTES = 112;
+
+    private final FlightRepository flightRepository;
+    private final boolean enabled;
+
+    private final ConcurrentSkipListMap<Integer, ConcurrentSkipListMap<FlightKey, Flight>> routes = new ConcurrentSkipListMap<>();
+    private final Map<Long, Flight> flightsById = new ConcurrentHashMap<>();
+
+    public FlightRouteIndex(FlightRepository flightRepository,
+                            @Value("${flight.route-index.enabled:false}") boolean enabled) {
+        this.flightRepository = flightRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        flightRepository.findAll().forEach(this::put);
+        log.info("Loaded flight route index in {} ms: {}", (System.nanoTime() - start) / 1_000_000, stats());
+    }
+
+    public List<Flight> findByRoute(String departureAirport, String destinationAirport,
+                                    Instant departureFrom, Instant departureTo) {
+        Integer routeKey = routeKey(departureAirport, destinationAirport);
+        ConcurrentSkipListMap<FlightKey, Flight> route = routeKey == null ? null : routes.get(routeKey);
+        return route == null ? List.of() : List.copyOf(slice(route, departureFrom, departureTo, null).values());
+    }
+
+    public List<Flight> findRoutePage(String departureAirport, String destinationAirport, FlightCursor after, int limit) {
+        Integer routeKey = routeKey(departureAirport, destinationAirport);
+        ConcurrentSkipListMap<FlightKey, Flight> route = routeKey == null ? null : routes.get(routeKey);
+        if (route == null) {
+            return List.of();
+        }
+        return first(slice(route, null, null, after), limit);
+    }
+
+    // Mirrors the FlightRepository departure page queries: without an end time the window is open-ended
+    public List<Flight> findDeparturePage(String departureAirport, Instant departureTime, Instant destinationTime,
+                                          FlightCursor after, int limit) {
+        int departureKey = AirportCode.pack(departureAirport);
+        if (departureKey < 0 || departureTime == null
+                || (destinationTime != null && departureTime.isAfter(destinationTime))) {
+            return List.of();
+        }
+        List<Flight> flights = new ArrayList<>();
+        for (ConcurrentSkipListMap<FlightKey, Flight> route
+                : routes.subMap(departureKey << AirportCode.BITS, (departureKey + 1) << AirportCode.BITS).values()) {
+            flights.addAll(first(slice(route, departureTime, destinationTime, after), limit));
+        }
+        flights.sort(Comparator.comparing(Flight::getDepartureTime).thenComparing(Flight::getId));
+        return flights.size() > limit ? List.copyOf(flights.subList(0, limit)) : flights;
+    }
+
+    // Writes are serialized; reads never block
+    public synchronized void put(Flight flight) {
+        if (!enabled || flight.getId() == null) {
+            return;
+        }
+        Flight snapshot = snapshot(flight);
+        Flight previous = flightsById.put(snapshot.getId(), snapshot);
+        if (previous != null) {
+            removeFromRoute(previous);
+        }
+        Integer routeKey = routeKey(snapshot.getDepartureAirport(), snapshot.getDestinationAirport());
+        if (routeKey != null) {
+            routes.computeIfAbsent(routeKey, key -> new ConcurrentSkipListMap<>(BY_DEPARTURE_TIME))
+                    .put(FlightKey.of(snapshot), snapshot);
+        }
+    }
+
+    public synchronized void remove(Flight flight) {
+        if (!enabled || flight.getId() == null) {
+            return;
+        }
+        Flight previous = flightsById.remove(flight.getId());
+        if (previous != null) {
+            removeFromRoute(previous);
+        }
+    }
+
+    public RouteIndexStats stats() {
+        long bytes = routes.size() * ROUTE_BYTES;
+        for (Flight flight : flightsById.values()) {
+            bytes += FLIGHT_BYTES + 2 * INSTANT_BYTES + FLIGHT_KEY_BYTES + SKIP_LIST_ENTRY_BYTES + ID_MAP_ENTRY_BYTES
+                    + stringBytes(flight.getFlightNumber()) + stringBytes(flight.getAirLine())
+                    + stringBytes(flight.getSupplier()) + stringBytes(flight.getDepartureAirport())
+                    + stringBytes(flight.getDestinationAirport());
+        }
+        return new RouteIndexStats(routes.size(), flightsById.size(), bytes);
+    }
+
+    private void removeFromRoute(Flight flight) {
+        Integer routeKey = routeKey(flight.getDepartureAirport(), flight.getDestinationAirport());
+        if (routeKey == null) {
+            return;
+        }
+        ConcurrentSkipListMap<FlightKey, Flight> route = routes.get(routeKey);
+        if (route != null) {
+            route.remove(FlightKey.of(flight));
+            if (route.isEmpty()) {
+                routes.remove(routeKey);
+            }
+        }
+    }
+
+    // Flights departing within [from, to] (either bound may be null) that come strictly after the cursor
+    private static NavigableMap<FlightKey, Flight> slice(ConcurrentSkipListMap<FlightKey, Flight> route,
+                                                         Instant from, Instant to, FlightCursor after) {
+        FlightKey lower = from == null ? null : new FlightKey(from, Long.MIN_VALUE);
+        boolean lowerInclusive = true;
+        if (after != null) {
+            FlightKey afterKey = new FlightKey(after.departureTime(), after.id());
+            if (lower == null || BY_DEPARTURE_TIME.compare(afterKey, lower) >= 0) {
+                lower = afterKey;
+                lowerInclusive = false;
+            }
+        }
+        FlightKey upper = to == null ? null : new FlightKey(to, Long.MAX_VALUE);
+        if (lower != null && upper != null && BY_DEPARTURE_TIME.compare(lower, upper) > 0) {
+            return Collections.emptyNavigableMap();
+        }
+        NavigableMap<FlightKey, Flight> slice = lower == null ? route : route.tailMap(lower, lowerInclusive);
+        return upper == null ? slice : slice.headMap(upper, true);
+    }
+
+    private static List<Flight> first(NavigableMap<FlightKey, Flight> flights, int limit) {
+        List<Flight> page = new ArrayList<>(Math.min(limit, 64));
+        for (Flight flight : flights.values()) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(flight);
+        }
+        return page;
+    }
+
+    private static Integer routeKey(String departureAirport, String destinationAirport) {
+        int departure = AirportCode.pack(departureAirport);
+        int destination = AirportCode.pack(destinationAirport);
+        return departure < 0 || destination < 0 ? null : departure << AirportCode.BITS | destination;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+
+    private static Flight snapshot(Flight flight) {
+        return Flight.builder()
+                .id(flight.getId())
+                .flightNumber(flight.getFlightNumber())
+                .airLine(flight.getAirLine())
+                .supplier(flight.getSupplier())
+                .fare(flight.getFare())
+                .departureAirport(flight.getDepartureAirport())
+                .destinationAirport(flight.getDestinationAirport())
+                .departureTime(flight.getDepartureTime())
+                .arrivalTime(flight.getArrivalTime())
+                .build();
+    }
+
+    public record RouteIndexStats(int routes, int flights, long estimatedBytes) {
+    }
+
+    private record FlightKey(Instant departureTime, long id) {
+        static FlightKey of(Flight flight) {
+            return new FlightKey(flight.getDepartureTime(), flight.getId());
+        }
+    }
+}
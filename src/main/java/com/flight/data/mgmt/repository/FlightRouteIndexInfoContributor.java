@@ -0,0 +1,20 @@
+package com.flight.data.mgmt.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class FlightRouteIndexInfoContributor implements InfoContributor {
+
+    private final FlightRouteIndex flightRouteIndex;
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        if (flightRouteIndex.isEnabled()) {
+            builder.withDetail("routeIndex", flightRouteIndex.stats());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.flight.data.mgmt.resilience;
+
+public class CallNotPermittedException extends RuntimeException {
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,156 @@
+package com.flight.data.mgmt.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. The last {@code slidingWindowSize} outcomes are kept; once at least
+ * {@code minimumNumberOfCalls} have been recorded, the breaker opens if either the failure rate or the slow-call rate
+ * reaches its threshold. While open every call is rejected. After {@code waitDurationInOpenState} a limited number
+ * of trial calls are let through (half-open), and their outcomes decide whether the breaker closes or opens again.
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumNumberOfCalls;
+    private final long waitInOpenNanos;
+    private final int permittedCallsInHalfOpenState;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int recordedCalls;
+    private int nextSlot;
+    private int failedCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public CircuitBreaker(String name, float failureRateThreshold, float slowCallRateThreshold, Duration slowCallDuration,
+                          int slidingWindowSize, int minimumNumberOfCalls, Duration waitDurationInOpenState,
+                          int permittedCallsInHalfOpenState) {
+        this(name, failureRateThreshold, slowCallRateThreshold, slowCallDuration, slidingWindowSize,
+                minimumNumberOfCalls, waitDurationInOpenState, permittedCallsInHalfOpenState, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, float failureRateThreshold, float slowCallRateThreshold, Duration slowCallDuration,
+                   int slidingWindowSize, int minimumNumberOfCalls, Duration waitDurationInOpenState,
+                   int permittedCallsInHalfOpenState, LongSupplier nanoClock) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.minimumNumberOfCalls = Math.min(minimumNumberOfCalls, slidingWindowSize);
+        this.waitInOpenNanos = waitDurationInOpenState.toNanos();
+        this.permittedCallsInHalfOpenState = Math.min(permittedCallsInHalfOpenState, slidingWindowSize);
+        this.nanoClock = nanoClock;
+        this.failedCalls = new boolean[slidingWindowSize];
+        this.slowCalls = new boolean[slidingWindowSize];
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < waitInOpenNanos) {
+                rejectedCalls.increment();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                rejectedCalls.increment();
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    // Returns a permission that was acquired but never used for a call
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits < permittedCallsInHalfOpenState) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized void onResult(long durationNanos, boolean failed) {
+        if (state == State.OPEN) {
+            return;
+        }
+        record(failed, durationNanos >= slowCallNanos);
+
+        int required = state == State.HALF_OPEN ? permittedCallsInHalfOpenState : minimumNumberOfCalls;
+        if (recordedCalls < required) {
+            return;
+        }
+        if (getFailureRate() >= failureRateThreshold || getSlowCallRate() >= slowCallRateThreshold) {
+            transitionTo(State.OPEN);
+        } else if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recordedCalls == failedCalls.length) {
+            failedCount -= failedCalls[nextSlot] ? 1 : 0;
+            slowCount -= slowCalls[nextSlot] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[nextSlot] = failed;
+        slowCalls[nextSlot] = slow;
+        failedCount += failed ? 1 : 0;
+        slowCount += slow ? 1 : 0;
+        nextSlot = (nextSlot + 1) % failedCalls.length;
+    }
+
+    private void transitionTo(State newState) {
+        log.warn("Circuit breaker {} changed from {} to {} (failure rate {}%, slow call rate {}%)",
+                name, state, newState, getFailureRate(), getSlowCallRate());
+        state = newState;
+        recordedCalls = 0;
+        nextSlot = 0;
+        failedCount = 0;
+        slowCount = 0;
+        if (newState == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        } else if (newState == State.HALF_OPEN) {
+            halfOpenPermits = permittedCallsInHalfOpenState;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized float getFailureRate() {
+        return recordedCalls == 0 ? 0 : failedCount * 100f / recordedCalls;
+    }
+
+    public synchronized float getSlowCallRate() {
+        return recordedCalls == 0 ? 0 : slowCount * 100f / recordedCalls;
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+}
@@ -1,42 +1,76 @@
 package com.flight.data.mgmt.service;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.flight.data.mgmt.dto.CrazySupplierFlightRequestDTO;
 import com.flight.data.mgmt.dto.CrazySupplierFlightResponseDTO;
 import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.mapper.CrazySupplierFlightReader;
 import com.flight.data.mgmt.mapper.CrazySupplierMapper;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.metrics.SearchMetrics.SupplierStage;
 import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.supplier.FlightSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 
 @Service
-public class CrazySupplierService {
+public class CrazySupplierService implements FlightSupplier {
+
+    public static final String NAME = "crazy-supplier";
 
     private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    // Built once so the root (de)serializers are resolved up front instead of looked up on every call
+    private final ObjectWriter requestWriter;
+    private final ObjectReader flightListReader;
+    private final CrazySupplierFlightReader flightReader;
     private final CrazySupplierMapper mapper;
+    private final ExecutorService searchExecutor;
+    private final SearchMetrics searchMetrics;
     @Value("${crazy-supplier.api.url}")
     private String apiUrl;
+    @Value("${crazy-supplier.api.streaming-enabled:true}")
+    private boolean streamingEnabled;
+    @Value("${crazy-supplier.api.timeout:10s}")
+    private Duration requestTimeout;
 
     public CrazySupplierService(
             HttpClient httpClient,
             ObjectMapper objectMapper,
-            CrazySupplierMapper mapper) {
+            CrazySupplierMapper mapper,
+            ExecutorService searchExecutor,
+            SearchMetrics searchMetrics) {
         this.httpClient = httpClient;
-        this.objectMapper = objectMapper;
+        this.requestWriter = objectMapper.writerFor(CrazySupplierFlightRequestDTO.class);
+        this.flightListReader = objectMapper.readerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CrazySupplierFlightResponseDTO.class));
+        this.flightReader = new CrazySupplierFlightReader(objectMapper);
         this.mapper = mapper;
+        this.searchExecutor = searchExecutor;
+        this.searchMetrics = searchMetrics;
     }
 
     private static final Logger log = LoggerFactory.getLogger(CrazySupplierService.class);
@@ -51,31 +85,114 @@ public class CrazySupplierService {
         }
     }
 
-    protected List<Flight> fetchFlightsFromExternalApi(CrazySupplierFlightRequestDTO request) throws IOException, InterruptedException {
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // Unlike searchFlights, failures complete the future exceptionally instead of yielding an empty list
+    @Override
+    public CompletableFuture<List<Flight>> searchFlightsAsync(FlightSearchCriteriaDTO flightSearchCriteriaDTO) {
+        CrazySupplierFlightRequestDTO request = mapper.toCrazySupplierRequestDTO(flightSearchCriteriaDTO);
+        if (!streamingEnabled) {
+            return CompletableFuture.supplyAsync(() -> fetchFlightsBlocking(request), searchExecutor);
+        }
+
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildHttpRequest(HttpRequest.BodyPublishers.ofByteArray(requestWriter.writeValueAsBytes(request)));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-        String requestBody = objectMapper.writeValueAsString(request);
+        // The HTTP stage ends when the headers arrive; the body is read while parsing
+        long start = System.nanoTime();
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(httpResponse -> {
+                    searchMetrics.recordSupplierStage(NAME, SupplierStage.HTTP, start);
+                    return readFlights(httpResponse);
+                });
+    }
 
-        HttpRequest httpRequest = HttpRequest.newBuilder()
+    private List<Flight> fetchFlightsBlocking(CrazySupplierFlightRequestDTO request) {
+        try {
+            return fetchFlightsFromExternalApi(request);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private List<Flight> readFlights(HttpResponse<InputStream> httpResponse) {
+        try (InputStream body = httpResponse.body()) {
+            if (httpResponse.statusCode() != 200) {
+                throw new RuntimeException(
+                        "API call failed with status: " + httpResponse.statusCode()
+                );
+            }
+            long start = System.nanoTime();
+            List<Flight> flights = parseFlights(body);
+            searchMetrics.recordSupplierStage(NAME, SupplierStage.PARSE, start);
+            return flights;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Turns each array element straight into a Flight as it is read, so neither the raw body nor any DTO is
+    // materialized
+    List<Flight> parseFlights(InputStream body) throws IOException {
+        List<Flight> flights = new ArrayList<>();
+        try (JsonParser parser = flightListReader.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return flights;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array of flights but found " + token);
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                flights.add(flightReader.read(parser));
+            }
+        }
+        return flights;
+    }
+
+    private HttpRequest buildHttpRequest(HttpRequest.BodyPublisher body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(URI.create(apiUrl + "/flights"))
                 .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                .build();
+                .POST(body);
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
+        return builder.build();
+    }
+
+    protected List<Flight> fetchFlightsFromExternalApi(CrazySupplierFlightRequestDTO request) throws IOException, InterruptedException {
+
+        String requestBody = requestWriter.writeValueAsString(request);
+
+        HttpRequest httpRequest = buildHttpRequest(HttpRequest.BodyPublishers.ofString(requestBody));
 
+        long start = System.nanoTime();
         HttpResponse<String> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+        searchMetrics.recordSupplierStage(NAME, SupplierStage.HTTP, start);
         if (httpResponse.statusCode() != 200) {
             throw new RuntimeException(
                     "API call failed with status: " + httpResponse.statusCode()
             );
         }
 
-        List<CrazySupplierFlightResponseDTO> responses = objectMapper.readValue(
-                httpResponse.body(),
-                objectMapper.getTypeFactory()
-                        .constructCollectionType(List.class, CrazySupplierFlightResponseDTO.class)
-        );
+        long parseStart = System.nanoTime();
+        List<CrazySupplierFlightResponseDTO> responses = flightListReader.readValue(httpResponse.body());
 
-        return responses.stream().map(mapper::toFlight)
+        List<Flight> flights = responses.stream().map(mapper::toFlight)
                 .collect(Collectors.toList());
+        searchMetrics.recordSupplierStage(NAME, SupplierStage.PARSE, parseStart);
+        return flights;
 
     }
 }
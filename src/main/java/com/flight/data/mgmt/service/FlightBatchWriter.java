@@ -0,0 +1,75 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Inserts new flights in one transaction per batch. A batch that fails to write is rolled back and retried one flight
+ * per transaction, so a single bad row only costs its own flight and the rest of the batch is still stored.
+ */
+@Component
+public class FlightBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightBatchWriter.class);
+
+    private final FlightRepository flightRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate batchTransaction;
+
+    public FlightBatchWriter(FlightRepository flightRepository,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager) {
+        this.flightRepository = flightRepository;
+        this.entityManager = entityManager;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Writes the flight of every item and returns the items whose flight was stored. Each item that still fails on
+     * its own is handed to {@code rejected} with the cause and left out of the result.
+     */
+    public <T> List<T> write(List<T> items, Function<T, Flight> flightOf, BiConsumer<T, DataAccessException> rejected) {
+        try {
+            insert(items.stream().map(flightOf).toList());
+            return items;
+        } catch (DataAccessException e) {
+            log.warn("Failed to write a batch of {} flights, retrying one by one", items.size(), e);
+        }
+        // The rolled back batch left sequence ids on its entities; they are cleared so each flight is inserted afresh
+        List<T> written = new ArrayList<>(items.size());
+        for (T item : items) {
+            Flight flight = flightOf.apply(item);
+            try {
+                flight.setId(null);
+                insert(List.of(flight));
+                written.add(item);
+            } catch (DataAccessException e) {
+                rejected.accept(item, e);
+            }
+        }
+        return written;
+    }
+
+    // Sequence ids let Hibernate hold the inserts until the flush, so the flush is where constraint errors surface. It
+    // runs through the repository proxy, which translates them into DataAccessException; a flush on the shared
+    // EntityManager would throw a raw PersistenceException instead
+    private void insert(List<Flight> flights) {
+        batchTransaction.executeWithoutResult(status -> {
+            flightRepository.saveAllAndFlush(flights);
+            // Keep the persistence context from growing across the batches of a long import or queue drain
+            entityManager.clear();
+        });
+    }
+}
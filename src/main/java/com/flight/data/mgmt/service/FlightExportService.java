@@ -0,0 +1,193 @@
+package com.flight.data.mgmt.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flight.data.mgmt.config.ErrorMessages;
+import com.flight.data.mgmt.dto.FlightExportCriteriaDTO;
+import com.flight.data.mgmt.dto.FlightResponseDTO;
+import com.flight.data.mgmt.exception.FlightValidationException;
+import com.flight.data.mgmt.mapper.FlightMapper;
+import com.flight.data.mgmt.model.AirportCode;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes flights straight from a database cursor to the response stream. Each row is detached once written, so memory
+ * use does not depend on how many flights match.
+ */
+@Service
+public class FlightExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightExportService.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "flightNumber,airline,supplier,fare,departureAirport,destinationAirport,departureTime,arrivalTime";
+
+    private final FlightRepository flightRepository;
+    private final FlightMapper flightMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter flightResponseWriter;
+    private final TransactionTemplate exportTransaction;
+    private final int fetchSize;
+
+    public FlightExportService(FlightRepository flightRepository,
+                               FlightMapper flightMapper,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${flight.export.fetch-size:500}") int fetchSize) {
+        this.flightRepository = flightRepository;
+        this.flightMapper = flightMapper;
+        this.entityManager = entityManager;
+        this.flightResponseWriter = objectMapper.writerFor(FlightResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        this.exportTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format of(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new FlightValidationException("Export parameter validation failed",
+                        List.of(ErrorMessages.INVALID_EXPORT_FORMAT + format));
+            }
+        }
+    }
+
+    // Called before the response is committed, so bad parameters still produce a 400
+    public void validate(FlightExportCriteriaDTO criteria) {
+        List<String> errors = new ArrayList<>();
+        if (criteria.getDepartureAirport() != null && !AirportCode.isValid(criteria.getDepartureAirport())) {
+            errors.add(ErrorMessages.INVALID_DEPARTURE_AIRPORT + criteria.getDepartureAirport());
+        }
+        if (criteria.getDestinationAirport() != null && !AirportCode.isValid(criteria.getDestinationAirport())) {
+            errors.add(ErrorMessages.INVALID_DESTINATION_AIRPORT + criteria.getDestinationAirport());
+        }
+        if (criteria.getDepartureFrom() != null && criteria.getDepartureTo() != null
+                && criteria.getDepartureTo().isBefore(criteria.getDepartureFrom())) {
+            errors.add(ErrorMessages.INVALID_EXPORT_WINDOW);
+        }
+        if (!errors.isEmpty()) {
+            log.error(ErrorMessages.FLIGHT_VALIDATION_FAILED, errors);
+            throw new FlightValidationException("Export parameter validation failed", errors);
+        }
+    }
+
+    public void export(FlightExportCriteriaDTO criteria, Format format, OutputStream out) {
+        long start = System.nanoTime();
+        Long rows = exportTransaction.execute(status -> {
+            try (Stream<Flight> flights = flightRepository.streamFlights(
+                    AirportCode.normalize(criteria.getDepartureAirport()),
+                    AirportCode.normalize(criteria.getDestinationAirport()),
+                    criteria.getDepartureFrom(),
+                    criteria.getDepartureTo(),
+                    fetchSize)) {
+                return format == Format.CSV ? writeCsv(flights.iterator(), out) : writeNdjson(flights.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} flights as {} in {} ms", rows, format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long writeNdjson(Iterator<Flight> flights, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = flightResponseWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (flights.hasNext()) {
+                Flight flight = flights.next();
+                flightResponseWriter.writeValue(generator, flightMapper.toFlightResponseDTO(flight));
+                generator.writeRaw('\n');
+                entityManager.detach(flight);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Flight> flights, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (flights.hasNext()) {
+            Flight flight = flights.next();
+            writeCsvField(writer, flight.getFlightNumber()).write(',');
+            writeCsvField(writer, flight.getAirLine()).write(',');
+            writeCsvField(writer, flight.getSupplier()).write(',');
+            writer.write(Double.toString(flight.getFare()));
+            writer.write(',');
+            writeCsvField(writer, flight.getDepartureAirport()).write(',');
+            writeCsvField(writer, flight.getDestinationAirport()).write(',');
+            writer.write(String.valueOf(flight.getDepartureTime()));
+            writer.write(',');
+            writer.write(String.valueOf(flight.getArrivalTime()));
+            writer.write('\n');
+            entityManager.detach(flight);
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    // RFC 4180 quoting, only when the value needs it
+    private static Writer writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return writer;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return writer;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+        return writer;
+    }
+}
@@ -0,0 +1,170 @@
+package com.flight.data.mgmt.service;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.flight.data.mgmt.cache.FlightResponseCache;
+import com.flight.data.mgmt.dto.FlightImportErrorDTO;
+import com.flight.data.mgmt.dto.FlightImportResultDTO;
+import com.flight.data.mgmt.dto.FlightRequestDTO;
+import com.flight.data.mgmt.mapper.FlightMapper;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightRouteIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams flights from an NDJSON or JSON array body and writes them in chunks, one transaction per chunk, so the
+ * request never holds more than one chunk in memory. Invalid records are reported by position and skipped; a chunk
+ * that fails to write is retried record by record, so only the records that cannot be written are reported, each with
+ * its own cause, while the remaining chunks carry on.
+ */
+@Service
+public class FlightImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightImportService.class);
+
+    private final ObjectReader flightRequestReader;
+    private final FlightService flightService;
+    private final FlightMapper flightMapper;
+    private final FlightNumberAllocator flightNumberAllocator;
+    private final FlightBatchWriter flightBatchWriter;
+    private final FlightRouteIndex flightRouteIndex;
+    private final FlightResponseCache flightResponseCache;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public FlightImportService(ObjectMapper objectMapper,
+                               FlightService flightService,
+                               FlightMapper flightMapper,
+                               FlightNumberAllocator flightNumberAllocator,
+                               FlightBatchWriter flightBatchWriter,
+                               FlightRouteIndex flightRouteIndex,
+                               FlightResponseCache flightResponseCache,
+                               @Value("${flight.bulk.chunk-size:1000}") int chunkSize,
+                               @Value("${flight.bulk.max-reported-errors:1000}") int maxReportedErrors) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Bulk import chunk size must be at least 1");
+        }
+        this.flightRequestReader = objectMapper.readerFor(FlightRequestDTO.class);
+        this.flightService = flightService;
+        this.flightMapper = flightMapper;
+        this.flightNumberAllocator = flightNumberAllocator;
+        this.flightBatchWriter = flightBatchWriter;
+        this.flightRouteIndex = flightRouteIndex;
+        this.flightResponseCache = flightResponseCache;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public FlightImportResultDTO importFlights(InputStream body) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport(maxReportedErrors);
+        List<PendingFlight> chunk = new ArrayList<>(chunkSize);
+
+        // Reads a root-level value sequence (NDJSON) as well as the elements of a top-level JSON array
+        try (MappingIterator<FlightRequestDTO> records = flightRequestReader.readValues(body)) {
+            while (true) {
+                long recordNumber = report.received + 1;
+                FlightRequestDTO request;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    request = records.nextValue();
+                } catch (DatabindException e) {
+                    // The record is well-formed JSON of the wrong shape; the iterator skips past it
+                    report.received = recordNumber;
+                    report.rejected(recordNumber, List.of("Invalid record: " + e.getOriginalMessage()));
+                    continue;
+                } catch (StreamReadException e) {
+                    // Malformed JSON cannot be resynchronised, so nothing after this point is read
+                    report.received = recordNumber;
+                    report.rejected(recordNumber, List.of("Malformed JSON, import stopped: " + e.getOriginalMessage()));
+                    break;
+                }
+                report.received = recordNumber;
+                accept(recordNumber, request, chunk, report);
+                if (chunk.size() == chunkSize) {
+                    write(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, report);
+        }
+
+        FlightImportResultDTO result = report.toResult();
+        log.info("Imported {} of {} flights in {} ms ({} rejected)", result.getImported(), result.getReceived(),
+                (System.nanoTime() - start) / 1_000_000, result.getRejected());
+        return result;
+    }
+
+    private void accept(long recordNumber, FlightRequestDTO request, List<PendingFlight> chunk, ImportReport report) {
+        if (request == null) {
+            report.rejected(recordNumber, List.of("Empty record"));
+            return;
+        }
+        Flight flight = flightMapper.toFlightDto(request);
+        List<String> errors = flightService.validationErrors(flight);
+        if (!errors.isEmpty()) {
+            report.rejected(recordNumber, errors);
+            return;
+        }
+        flightService.normalizeAirports(flight);
+        flight.setFlightNumber(flightNumberAllocator.nextFlightNumber(flight.getAirLine()));
+        chunk.add(new PendingFlight(recordNumber, flight));
+    }
+
+    private void write(List<PendingFlight> chunk, ImportReport report) {
+        List<Flight> flights = flightBatchWriter.write(chunk, PendingFlight::flight, (pending, e) -> {
+            log.warn("Failed to write record {}", pending.recordNumber(), e);
+            report.rejected(pending.recordNumber(), List.of("Write failed: " + e.getMostSpecificCause().getMessage()));
+        }).stream().map(PendingFlight::flight).toList();
+        flights.forEach(flightRouteIndex::put);
+        flightResponseCache.invalidate(flights);
+        report.imported += flights.size();
+    }
+
+    private record PendingFlight(long recordNumber, Flight flight) {
+    }
+
+    private static final class ImportReport {
+        private final int maxReportedErrors;
+        private final List<FlightImportErrorDTO> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long rejected;
+
+        private ImportReport(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void rejected(long recordNumber, List<String> recordErrors) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new FlightImportErrorDTO(recordNumber, recordErrors));
+            }
+        }
+
+        private FlightImportResultDTO toResult() {
+            return FlightImportResultDTO.builder()
+                    .received(received)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .errors(errors)
+                    .errorsTruncated(rejected > errors.size())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.model.FlightNumberSequence;
+import com.flight.data.mgmt.repository.FlightNumberSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out unique flight numbers per airline without querying the flights table. Each instance leases a block of
+ * numbers from the shared flight_number_sequences row (locked for update in its own transaction) and serves it from
+ * memory, so instances never hand out the same number. Numbers left in a block when an instance stops are skipped.
+ * <p>
+ * The number is zero-padded to {@value #FLIGHT_NUMBER_DIGITS} digits. Airline codes are free text and may end in
+ * digits, so without a fixed width "A" at 1100 and "A1" at 100 would both read "A1100".
+ */
+@Component
+public class FlightNumberAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightNumberAllocator.class);
+
+    static final long FIRST_FLIGHT_NUMBER = 100;
+    static final int FLIGHT_NUMBER_DIGITS = 6;
+    static final long MAX_FLIGHT_NUMBER = 999_999;
+
+    private final FlightNumberSequenceRepository sequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final int blockSize;
+
+    private final Map<String, AtomicReference<Block>> blocks = new ConcurrentHashMap<>();
+    // Leasing runs a database transaction, which must not happen inside synchronized on virtual threads: the
+    // blocked thread would keep its carrier thread pinned
+    private final Map<String, ReentrantLock> leaseLocks = new ConcurrentHashMap<>();
+
+    public FlightNumberAllocator(FlightNumberSequenceRepository sequenceRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${flight.number.block-size:100}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Flight number block size must be at least 1");
+        }
+        this.sequenceRepository = sequenceRepository;
+        this.blockSize = blockSize;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        // Commit the lease even if the caller's transaction rolls back, so no block is ever handed out twice
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextFlightNumber(String airLine) {
+        if (airLine == null || airLine.trim().isEmpty()) {
+            throw new IllegalArgumentException("Airline code cannot be null or empty");
+        }
+        String airLineCode = airLine.trim().toUpperCase(Locale.ROOT);
+        AtomicReference<Block> current = blocks.computeIfAbsent(airLineCode, key -> new AtomicReference<>(new Block(0, 0)));
+        while (true) {
+            Block block = current.get();
+            long number = block.next.getAndIncrement();
+            if (number < block.end) {
+                return format(airLineCode, number);
+            }
+            ReentrantLock leaseLock = leaseLocks.computeIfAbsent(airLineCode, key -> new ReentrantLock());
+            leaseLock.lock();
+            try {
+                if (current.get() == block) {
+                    current.set(lease(airLineCode));
+                }
+            } finally {
+                leaseLock.unlock();
+            }
+        }
+    }
+
+    // A wider number would no longer be unambiguous, so an exhausted airline fails instead of colliding
+    private static String format(String airLineCode, long number) {
+        if (number > MAX_FLIGHT_NUMBER) {
+            throw new IllegalStateException("Flight numbers of airline " + airLineCode + " are exhausted");
+        }
+        return airLineCode + String.format(Locale.ROOT, "%0" + FLIGHT_NUMBER_DIGITS + "d", number);
+    }
+
+    private Block lease(String airLineCode) {
+        try {
+            return leaseTransaction.execute(status -> reserve(airLineCode));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the sequence row first; it exists now, so lock it like any other
+            log.debug("Flight number sequence for {} was created concurrently, retrying lease", airLineCode);
+            return leaseTransaction.execute(status -> reserve(airLineCode));
+        }
+    }
+
+    private Block reserve(String airLineCode) {
+        FlightNumberSequence sequence = sequenceRepository.findForUpdate(airLineCode)
+                .orElseGet(() -> FlightNumberSequence.builder()
+                        .airLine(airLineCode)
+                        .nextValue(FIRST_FLIGHT_NUMBER)
+                        .build());
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + blockSize);
+        sequenceRepository.saveAndFlush(sequence);
+        log.info("Leased flight numbers {} to {} of airline {}", start, start + blockSize - 1, airLineCode);
+        return new Block(start, start + blockSize);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
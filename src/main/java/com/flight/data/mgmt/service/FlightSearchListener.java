@@ -0,0 +1,15 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.dto.FlightSearchBatchDTO;
+import com.flight.data.mgmt.dto.FlightSearchSummaryDTO;
+
+/**
+ * Receives a streaming search as it progresses: one batch per source that answers in time, then exactly one summary.
+ * Calls never overlap and nothing follows the summary, but they arrive on whichever thread finished the source.
+ */
+public interface FlightSearchListener {
+
+    void onFlights(FlightSearchBatchDTO batch);
+
+    void onComplete(FlightSearchSummaryDTO summary);
+}
@@ -1,22 +1,40 @@
 package com.flight.data.mgmt.service;
 
 
+import com.flight.data.mgmt.cache.FlightResponseCache;
 import com.flight.data.mgmt.config.ErrorMessages;
 import com.flight.data.mgmt.dto.*;
 import com.flight.data.mgmt.exception.FlightValidationException;
 import com.flight.data.mgmt.mapper.FlightMapper;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.metrics.SearchMetrics.Stage;
+import com.flight.data.mgmt.model.AirportCode;
 import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightCursor;
 import com.flight.data.mgmt.repository.FlightRepository;
-import com.flight.data.mgmt.util.FlightNumberGenerator;
+import com.flight.data.mgmt.repository.FlightRouteIndex;
+import com.flight.data.mgmt.supplier.SupplierSearchEngine;
+import com.flight.data.mgmt.supplier.SupplierSearchResult;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,81 +43,344 @@ public class FlightService {
 
     private static final Logger log = LoggerFactory.getLogger(FlightService.class);
 
+    static final String LOCAL_SOURCE = "local";
+
     private final FlightRepository flightRepository;
-    private final CrazySupplierService crazySupplierService;
+    private final FlightRouteIndex flightRouteIndex;
     private final FlightMapper flightMapper;
+    private final ExecutorService searchExecutor;
+    private final SupplierSearchEngine supplierSearchEngine;
+    private final FlightNumberAllocator flightNumberAllocator;
+    private final SearchMetrics searchMetrics;
+    private final FlightResponseCache flightResponseCache;
+    private final FlightWriteBehind flightWriteBehind;
+
+    @Value("${flight.search.timeout:3s}")
+    private Duration searchTimeout;
+
+    @Value("${flight.search.page-size.default:100}")
+    private int defaultPageSize;
 
+    @Value("${flight.search.page-size.max:1000}")
+    private int maxPageSize;
 
-    public List<FlightResponseDTO> searchFlights(FlightSearchCriteriaDTO flightSearchCriteriaDTO) {
 
+    public FlightSearchResultDTO searchFlights(FlightSearchCriteriaDTO flightSearchCriteriaDTO) {
+
+        long start = System.nanoTime();
         validateSearchParam(flightSearchCriteriaDTO);
+        searchMetrics.recordStage(SearchMetrics.SEARCH, Stage.VALIDATION, start);
+
+        long deadline = System.nanoTime() + searchTimeout.toNanos();
+
+        Future<List<FlightView>> localFlights = searchExecutor.submit(() -> {
+            long queryStart = System.nanoTime();
+            List<FlightView> views = findByRoute(
+                    flightSearchCriteriaDTO.getDepartureAirport(),
+                    flightSearchCriteriaDTO.getDestinationAirport(),
+                    flightSearchCriteriaDTO.getOutboundDate(),
+                    flightSearchCriteriaDTO.getInboundDate());
+            searchMetrics.recordStage(SearchMetrics.SEARCH, Stage.LOCAL_QUERY, queryStart);
+            return views;
+        });
+
+        long supplierStart = System.nanoTime();
+        CompletableFuture<SupplierSearchResult> supplierFlights =
+                supplierSearchEngine.search(flightSearchCriteriaDTO, searchTimeout);
+
+        List<FlightView> local = new ArrayList<>();
+        boolean complete;
+        try {
+            complete = awaitLocalFlights(localFlights, deadline, local);
+        } catch (RuntimeException e) {
+            // The request fails with the local error, so nobody is left to wait for the suppliers. Only this search's
+            // view is cancelled; an upstream call shared through the supplier cache still completes for its other callers
+            supplierFlights.cancel(true);
+            throw e;
+        }
 
-        List<Flight> localFlights = flightRepository.findByRoute(
-                flightSearchCriteriaDTO.getDepartureAirport(),
-                flightSearchCriteriaDTO.getDestinationAirport());
+        // The engine completes on its own once the budget is spent, so this never outlasts the deadline
+        SupplierSearchResult supplierResult = supplierFlights.join();
+        searchMetrics.recordStage(SearchMetrics.SEARCH, Stage.SUPPLIER_SEARCH, supplierStart);
+        complete &= supplierResult.complete();
 
-        List<Flight> crazySupplierFlights = crazySupplierService.searchFlights(flightSearchCriteriaDTO);
+        long mappingStart = System.nanoTime();
+        List<FlightResponseDTO> flights = new ArrayList<>(local.size() + supplierResult.flights().size());
+        local.forEach(view -> flights.add(flightMapper.toFlightResponseDTO(view)));
+        supplierResult.flights().forEach(flight -> flights.add(flightMapper.toFlightResponseDTO(flight)));
+        searchMetrics.recordStage(SearchMetrics.SEARCH, Stage.MAPPING, mappingStart);
+        searchMetrics.recordResults(SearchMetrics.SEARCH, "local", local.size());
+        searchMetrics.recordResults(SearchMetrics.SEARCH, "supplier", supplierResult.flights().size());
 
-        List<Flight> allFlights = new ArrayList<>(localFlights);
-        allFlights.addAll(crazySupplierFlights);
+        return new FlightSearchResultDTO(flights, !complete);
+    }
 
-        return allFlights.stream().map(flightMapper::toFlightResponseDTO).collect(Collectors.toList());
+    // Same sources and budget as searchFlights, but each source's flights go to the listener as soon as they are
+    // mapped, so the first batch waits only for the database. Validation errors are thrown before anything is sent.
+    public void streamFlights(FlightSearchCriteriaDTO flightSearchCriteriaDTO, FlightSearchListener listener) {
 
+        long start = System.nanoTime();
+        validateSearchParam(flightSearchCriteriaDTO);
+        searchMetrics.recordStage(SearchMetrics.SEARCH_STREAM, Stage.VALIDATION, start);
+
+        StreamingSearch search = new StreamingSearch(listener, start);
+
+        // Unlike searchFlights, a query that misses the deadline is abandoned rather than interrupted
+        CompletableFuture<Boolean> local = CompletableFuture.supplyAsync(() -> {
+                    long queryStart = System.nanoTime();
+                    List<FlightView> views = findByRoute(
+                            flightSearchCriteriaDTO.getDepartureAirport(),
+                            flightSearchCriteriaDTO.getDestinationAirport(),
+                            flightSearchCriteriaDTO.getOutboundDate(),
+                            flightSearchCriteriaDTO.getInboundDate());
+                    searchMetrics.recordStage(SearchMetrics.SEARCH_STREAM, Stage.LOCAL_QUERY, queryStart);
+                    return views;
+                }, searchExecutor)
+                .orTimeout(searchTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .thenApply(views -> {
+                    searchMetrics.recordResults(SearchMetrics.SEARCH_STREAM, "local", views.size());
+                    search.emit(LOCAL_SOURCE, views.stream().map(flightMapper::toFlightResponseDTO).toList());
+                    return true;
+                })
+                .exceptionally(error -> {
+                    log.warn("Local flight lookup dropped from streaming search: {}", error.toString());
+                    return false;
+                });
+
+        long supplierStart = System.nanoTime();
+        CompletableFuture<Boolean> suppliers = supplierSearchEngine
+                .search(flightSearchCriteriaDTO, searchTimeout, (supplier, flights) -> {
+                    searchMetrics.recordResults(SearchMetrics.SEARCH_STREAM, "supplier", flights.size());
+                    search.emit(supplier, flights.stream().map(flightMapper::toFlightResponseDTO).toList());
+                })
+                .thenApply(result -> {
+                    searchMetrics.recordStage(SearchMetrics.SEARCH_STREAM, Stage.SUPPLIER_SEARCH, supplierStart);
+                    return result.complete();
+                });
+
+        local.thenCombine(suppliers, (localComplete, suppliersComplete) -> localComplete && suppliersComplete)
+                .whenComplete((complete, error) -> search.complete(error != null || !complete));
     }
 
+    // Keeps the listener's calls ordered and drops supplier answers that arrive after the summary went out. The
+    // listener writes to the client, so a lock is used rather than synchronized to avoid pinning virtual threads
+    private static final class StreamingSearch {
 
-    public List<FlightResponseDTO> searchByRoute(String departureAirport, String destinationAirport) {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final FlightSearchListener listener;
+        private final long start;
+        private int flights;
+        private boolean completed;
+
+        private StreamingSearch(FlightSearchListener listener, long start) {
+            this.listener = listener;
+            this.start = start;
+        }
 
-        List<Flight> flights = flightRepository.findByRoute(
-                departureAirport,
-                destinationAirport
-        );
+        void emit(String source, List<FlightResponseDTO> batch) {
+            lock.lock();
+            try {
+                if (completed) {
+                    return;
+                }
+                flights += batch.size();
+                listener.onFlights(new FlightSearchBatchDTO(source, elapsedMillis(), batch));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void complete(boolean partial) {
+            lock.lock();
+            try {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+                listener.onComplete(new FlightSearchSummaryDTO(partial, flights, elapsedMillis()));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
 
-        if (flights.isEmpty()) {
+    private boolean awaitLocalFlights(Future<List<FlightView>> localFlights, long deadline, List<FlightView> sink) {
+        try {
+            sink.addAll(localFlights.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            return true;
+        } catch (TimeoutException e) {
+            localFlights.cancel(true);
+            log.warn("Local flight lookup missed the {} ms deadline, returning partial results", searchTimeout.toMillis());
+            return false;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            localFlights.cancel(true);
+            return false;
+        }
+    }
+
+    public FlightPageDTO searchByRoute(String departureAirport, String destinationAirport,
+                                       Integer pageSize, String pageToken) {
+
+        long start = System.nanoTime();
+        int limit = resolvePageSize(pageSize);
+        FlightCursor after = decodePageToken(pageToken);
+        String departure = AirportCode.normalize(departureAirport);
+        String destination = AirportCode.normalize(destinationAirport);
+        searchMetrics.recordStage(SearchMetrics.ROUTE, Stage.VALIDATION, start);
+
+        // One extra row tells whether another page follows
+        long queryStart = System.nanoTime();
+        List<FlightView> flights;
+        if (flightRouteIndex.isEnabled()) {
+            flights = toViews(flightRouteIndex.findRoutePage(departure, destination, after, limit + 1));
+        } else if (after == null) {
+            flights = flightRepository.findRoutePage(departure, destination, Limit.of(limit + 1));
+        } else {
+            flights = flightRepository.findRoutePageAfter(departure, destination,
+                    after.departureTime(), after.id(), Limit.of(limit + 1));
+        }
+        searchMetrics.recordStage(SearchMetrics.ROUTE, Stage.LOCAL_QUERY, queryStart);
+
+        if (flights.isEmpty() && after == null) {
             log.warn("No flights found for route from {} to {}", departureAirport, destinationAirport);
         }
-        return flights.stream()
-                .map(flightMapper::toFlightResponseDTO)
-                .collect(Collectors.toList());
+        return toPage(SearchMetrics.ROUTE, flights, limit);
     }
 
-    public List<FlightResponseDTO> searchByDepartureAndDestination(String departureAirport,
-                                                                   Instant departureTime,
-                                                                   Instant destinationTime) {
+    public FlightPageDTO searchByDepartureAndDestination(String departureAirport,
+                                                         Instant departureTime,
+                                                         Instant destinationTime,
+                                                         Integer pageSize,
+                                                         String pageToken) {
 
-        List<Flight> flights = flightRepository.findByDepartureAndDestination(
-                departureAirport,
-                departureTime,
-                destinationTime
-        );
+        long start = System.nanoTime();
+        if (departureTime == null) {
+            throw new FlightValidationException("Search parameter validation failed",
+                    Collections.singletonList(ErrorMessages.MISSING_DEPARTURE_TIME));
+        }
+        int limit = resolvePageSize(pageSize);
+        FlightCursor after = decodePageToken(pageToken);
+        String departure = AirportCode.normalize(departureAirport);
+        searchMetrics.recordStage(SearchMetrics.DEPARTURE_AIRPORT, Stage.VALIDATION, start);
+
+        long queryStart = System.nanoTime();
+        List<FlightView> flights;
+        if (flightRouteIndex.isEnabled()) {
+            flights = toViews(
+                    flightRouteIndex.findDeparturePage(departure, departureTime, destinationTime, after, limit + 1));
+        } else {
+            flights = findDeparturePage(departure, departureTime, destinationTime, after, Limit.of(limit + 1));
+        }
+        searchMetrics.recordStage(SearchMetrics.DEPARTURE_AIRPORT, Stage.LOCAL_QUERY, queryStart);
 
-        if (flights.isEmpty()) {
+        if (flights.isEmpty() && after == null) {
             log.warn("No flights found for Origin {}", departureAirport);
         }
+        return toPage(SearchMetrics.DEPARTURE_AIRPORT, flights, limit);
+    }
+
+    // A cursor inside the window moves the range start up to it, so the index range scan starts at the cursor
+    private List<FlightView> findDeparturePage(String departure, Instant departureTime, Instant destinationTime,
+                                               FlightCursor after, Limit limit) {
+        if (after == null) {
+            return destinationTime == null
+                    ? flightRepository.findDeparturePageFrom(departure, departureTime, limit)
+                    : flightRepository.findDeparturePageBetween(departure, departureTime, destinationTime, limit);
+        }
+        Instant from = after.departureTime().isAfter(departureTime) ? after.departureTime() : departureTime;
+        return destinationTime == null
+                ? flightRepository.findDeparturePageFromAfter(departure, from, after.departureTime(), after.id(), limit)
+                : flightRepository.findDeparturePageBetweenAfter(departure, from, destinationTime,
+                        after.departureTime(), after.id(), limit);
+    }
 
-        return flights.stream()
-                .map(flightMapper::toFlightResponseDTO)
-                .collect(Collectors.toList());
+    private FlightPageDTO toPage(String endpoint, List<FlightView> flights, int pageSize) {
+        long start = System.nanoTime();
+        boolean hasMore = flights.size() > pageSize;
+        List<FlightView> page = hasMore ? flights.subList(0, pageSize) : flights;
+        FlightPageDTO result = new FlightPageDTO(
+                page.stream().map(flightMapper::toFlightResponseDTO).collect(Collectors.toList()),
+                hasMore ? FlightCursor.of(page.getLast()).encode() : null);
+        searchMetrics.recordStage(endpoint, Stage.MAPPING, start);
+        searchMetrics.recordResults(endpoint, "local", page.size());
+        return result;
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return defaultPageSize;
+        }
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new FlightValidationException("Pagination parameter validation failed",
+                    Collections.singletonList(ErrorMessages.INVALID_PAGE_SIZE + maxPageSize));
+        }
+        return pageSize;
+    }
+
+    private FlightCursor decodePageToken(String pageToken) {
+        if (pageToken == null || pageToken.isEmpty()) {
+            return null;
+        }
+        try {
+            return FlightCursor.decode(pageToken);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new FlightValidationException("Pagination parameter validation failed",
+                    Collections.singletonList(ErrorMessages.INVALID_PAGE_TOKEN));
+        }
+    }
+
+    // Codes are stored upper case, so lookups are normalised the same way; only flights departing between the
+    // outbound and inbound dates are read
+    private List<FlightView> findByRoute(String departureAirport, String destinationAirport,
+                                         Instant departureFrom, Instant departureTo) {
+        String departure = AirportCode.normalize(departureAirport);
+        String destination = AirportCode.normalize(destinationAirport);
+        return flightRouteIndex.isEnabled()
+                ? toViews(flightRouteIndex.findByRoute(departure, destination, departureFrom, departureTo))
+                : flightRepository.findRouteViews(departure, destination, departureFrom, departureTo);
+    }
+
+    private List<FlightView> toViews(List<Flight> flights) {
+        return flights.stream().map(flightMapper::toFlightView).collect(Collectors.toList());
     }
 
     public FlightResponseDTO createFlight(FlightRequestDTO flightRequestDTO) {
         log.debug("Received request to create flight: {}", flightRequestDTO);
         Flight flight = flightMapper.toFlightDto(flightRequestDTO);
         validateFlight(flight);
-
-        String flightNumber = FlightNumberGenerator.generateFlightNumber(flight.getAirLine());
-        while (flightRepository.findByFlightNumber(flightNumber).isPresent()) {
-            flightNumber = FlightNumberGenerator.generateFlightNumber(flight.getAirLine());
+        normalizeAirports(flight);
+
+        flight.setFlightNumber(flightNumberAllocator.nextFlightNumber(flight.getAirLine()));
+        if (flightWriteBehind.isEnabled()) {
+            // The allocated number is unique already, so the flight can be acknowledged before it is written
+            flightWriteBehind.enqueue(flight);
+            log.debug("Queued flight with number: {}", flight.getFlightNumber());
+            return flightMapper.toFlightResponseDTO(flight);
         }
-
-        flight.setFlightNumber(flightNumber);
         flightRepository.save(flight);
+        flightRouteIndex.put(flight);
+        flightResponseCache.invalidate(List.of(flight));
 
         log.info("Successfully saved flight with number: {}", flight.getFlightNumber());
 
         return flightMapper.toFlightResponseDTO(flight);
     }
 
+    // Write-behind creates are answered with 202: the flight is not readable until the writer has flushed it
+    public boolean isWriteBehindEnabled() {
+        return flightWriteBehind.isEnabled();
+    }
+
     public void updateFlight(String flightNumber, FlightRequestDTO flightRequestDTO) {
 
         Flight existingFlight = isExistingFlight(flightNumber);
@@ -108,7 +389,9 @@ public class FlightService {
         updatedFlight.setFlightNumber(existingFlight.getFlightNumber());
 
         validateFlight(updatedFlight);
-        flightRepository.save(updatedFlight);
+        normalizeAirports(updatedFlight);
+        flightRouteIndex.put(flightRepository.save(updatedFlight));
+        flightResponseCache.invalidate(List.of(existingFlight, updatedFlight));
     }
 
     private Flight isExistingFlight(String flightNumber) {
@@ -123,15 +406,22 @@ public class FlightService {
 
         Flight existingFlight = isExistingFlight(flightNumber);
         flightRepository.delete(existingFlight);
+        flightRouteIndex.remove(existingFlight);
+        flightResponseCache.invalidate(List.of(existingFlight));
     }
 
-    private boolean isInvalidAirportCode(String destinationAirport) {
-        String AIRLINE_CODE_VALIDATION_PATTERN = "[A-Za-z]{3}";
+    private boolean isInvalidAirportCode(String airportCode) {
+        return !AirportCode.isValid(airportCode);
+    }
 
-        if (destinationAirport == null || destinationAirport.length() != 3) {
-            return true;
-        }
-        return !destinationAirport.matches(AIRLINE_CODE_VALIDATION_PATTERN);
+    private boolean isSameAirport(String departureAirport, String destinationAirport) {
+        int departure = AirportCode.pack(departureAirport);
+        return departure >= 0 && departure == AirportCode.pack(destinationAirport);
+    }
+
+    void normalizeAirports(Flight flight) {
+        flight.setDepartureAirport(AirportCode.normalize(flight.getDepartureAirport()));
+        flight.setDestinationAirport(AirportCode.normalize(flight.getDestinationAirport()));
     }
 
     void validateSearchParam(FlightSearchCriteriaDTO searchCriteria) {
@@ -151,7 +441,7 @@ public class FlightService {
                 errors.add("Invalid destination airport code: " + destinationAirport);
             }
 
-            if (departureAirport.equals(destinationAirport)) {
+            if (isSameAirport(departureAirport, destinationAirport)) {
                 errors.add("Departure and destination airports cannot be the same");
             }
 
@@ -174,6 +464,16 @@ public class FlightService {
 
     private void validateFlight(Flight flight) {
         log.debug("Validating flight: {}", flight.getFlightNumber());
+        List<String> errors = validationErrors(flight);
+
+        if (!errors.isEmpty()) {
+            log.error(ErrorMessages.FLIGHT_VALIDATION_FAILED, errors);
+            throw new FlightValidationException(ErrorMessages.FLIGHT_VALIDATION_FAILED, errors);
+        }
+        log.debug("Validation successful for flight: {}", flight.getFlightNumber());
+    }
+
+    List<String> validationErrors(Flight flight) {
         List<String> errors = new ArrayList<>();
 
         if (isInvalidAirportCode(flight.getDepartureAirport())) {
@@ -184,11 +484,13 @@ public class FlightService {
             errors.add(ErrorMessages.INVALID_DESTINATION_AIRPORT + flight.getDestinationAirport());
         }
 
-        if (flight.getDepartureAirport().equals(flight.getDestinationAirport())) {
+        if (isSameAirport(flight.getDepartureAirport(), flight.getDestinationAirport())) {
             errors.add(ErrorMessages.SAME_AIRPORTS);
         }
 
-        if (flight.getArrivalTime().isBefore(flight.getDepartureTime())) {
+        if (flight.getDepartureTime() == null || flight.getArrivalTime() == null) {
+            errors.add(ErrorMessages.MISSING_TIMES);
+        } else if (flight.getArrivalTime().isBefore(flight.getDepartureTime())) {
             errors.add(ErrorMessages.ARRIVAL_BEFORE_DEPARTURE);
         }
 
@@ -203,12 +505,7 @@ public class FlightService {
         if (flight.getSupplier() == null || flight.getSupplier().trim().isEmpty()) {
             errors.add(ErrorMessages.MISSING_SUPPLIER);
         }
-
-        if (!errors.isEmpty()) {
-            log.error(ErrorMessages.FLIGHT_VALIDATION_FAILED, errors);
-            throw new FlightValidationException(ErrorMessages.FLIGHT_VALIDATION_FAILED, errors);
-        }
-        log.debug("Validation successful for flight: {}", flight.getFlightNumber());
+        return errors;
     }
 
 }
@@ -0,0 +1,189 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.cache.FlightResponseCache;
+import com.flight.data.mgmt.config.ErrorMessages;
+import com.flight.data.mgmt.exception.FlightWriteRejectedException;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightRouteIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Write-behind path for flight creation. Validated flights with their allocated numbers are queued and acknowledged
+ * straight away; one writer thread inserts them in batches, one transaction per batch. A full queue holds the caller
+ * for at most the offer timeout and then rejects it, which is the backpressure during schedule pushes. On shutdown new
+ * flights are refused and the writer drains what was already acknowledged before the database goes away.
+ */
+@Service
+public class FlightWriteBehind implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightWriteBehind.class);
+
+    private final FlightBatchWriter flightBatchWriter;
+    private final FlightRouteIndex flightRouteIndex;
+    private final FlightResponseCache flightResponseCache;
+    private final BlockingQueue<Flight> queue;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final long flushIntervalNanos;
+    private final Duration drainTimeout;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile boolean accepting;
+    private volatile Thread writer;
+
+    public FlightWriteBehind(FlightBatchWriter flightBatchWriter,
+                             FlightRouteIndex flightRouteIndex,
+                             FlightResponseCache flightResponseCache,
+                             @Value("${flight.write-behind.enabled:false}") boolean enabled,
+                             @Value("${flight.write-behind.queue-capacity:10000}") int queueCapacity,
+                             @Value("${flight.write-behind.batch-size:500}") int batchSize,
+                             @Value("${flight.write-behind.offer-timeout:100ms}") Duration offerTimeout,
+                             @Value("${flight.write-behind.flush-interval:50ms}") Duration flushInterval,
+                             @Value("${flight.write-behind.drain-timeout:30s}") Duration drainTimeout) {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Write-behind queue capacity and batch size must be at least 1");
+        }
+        this.flightBatchWriter = flightBatchWriter;
+        this.flightRouteIndex = flightRouteIndex;
+        this.flightResponseCache = flightResponseCache;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.drainTimeout = drainTimeout;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void enqueue(Flight flight) {
+        if (!accepting) {
+            rejected.increment();
+            throw new FlightWriteRejectedException(ErrorMessages.WRITE_BEHIND_STOPPED);
+        }
+        try {
+            if (!queue.offer(flight, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new FlightWriteRejectedException(ErrorMessages.WRITE_BEHIND_QUEUE_FULL);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new FlightWriteRejectedException(ErrorMessages.WRITE_BEHIND_QUEUE_FULL);
+        }
+    }
+
+    // A batch is written as soon as the first flight arrives, with whatever else is queued by then; the flush
+    // interval only bounds how long an idle writer waits before checking for shutdown
+    private void run() {
+        List<Flight> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Flight first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                log.error("Write-behind writer interrupted with {} flights still queued", queue.size());
+                return;
+            } catch (RuntimeException e) {
+                failed.add(batch.size());
+                log.error("Dropped {} write-behind flights", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // One bad row must not take the rest of an acknowledged batch with it
+    private void write(List<Flight> batch) {
+        List<Flight> saved = flightBatchWriter.write(batch, Function.identity(), (flight, e) -> {
+            failed.increment();
+            log.error("Dropped write-behind flight {}", flight.getFlightNumber(), e);
+        });
+        saved.forEach(flightRouteIndex::put);
+        flightResponseCache.invalidate(saved);
+        written.add(saved.size());
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        accepting = true;
+        writer = Thread.ofPlatform().name("flight-write-behind").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        Thread current = writer;
+        if (current == null) {
+            return;
+        }
+        accepting = false;
+        try {
+            if (!current.join(drainTimeout)) {
+                log.error("Write-behind drain missed the {} ms timeout, {} flights were not written",
+                        drainTimeout.toMillis(), queue.size());
+                current.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            current.interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // Stops after the web server, so requests still in flight during a graceful shutdown can be queued and drained
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("flight.write-behind.queue.size", queue, BlockingQueue::size)
+                .register(registry);
+        FunctionCounter.builder("flight.write-behind.flights", written, LongAdder::sum)
+                .tag("outcome", "written")
+                .register(registry);
+        FunctionCounter.builder("flight.write-behind.flights", failed, LongAdder::sum)
+                .tag("outcome", "failed")
+                .register(registry);
+        FunctionCounter.builder("flight.write-behind.flights", rejected, LongAdder::sum)
+                .tag("outcome", "rejected")
+                .register(registry);
+    }
+}
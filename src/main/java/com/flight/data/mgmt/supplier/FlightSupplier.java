@@ -0,0 +1,20 @@
+package com.flight.data.mgmt.supplier;
+
+import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.model.Flight;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An external source of flights. Every Spring bean implementing this interface is picked up by
+ * {@link FlightSupplierRegistry} and queried by {@link SupplierSearchEngine} on each search.
+ */
+public interface FlightSupplier {
+
+    // Identifier used for configuration under flight.supplier.instances.<name>
+    String getName();
+
+    // Must not block the caller; failures are reported by completing the future exceptionally
+    CompletableFuture<List<Flight>> searchFlightsAsync(FlightSearchCriteriaDTO flightSearchCriteriaDTO);
+}
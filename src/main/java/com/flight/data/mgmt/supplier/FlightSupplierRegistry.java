@@ -0,0 +1,118 @@
+package com.flight.data.mgmt.supplier;
+
+import com.flight.data.mgmt.config.SupplierProperties;
+import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.resilience.Bulkhead;
+import com.flight.data.mgmt.resilience.CallNotPermittedException;
+import com.flight.data.mgmt.resilience.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class FlightSupplierRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightSupplierRegistry.class);
+
+    private final List<RegisteredSupplier> suppliers;
+
+    public FlightSupplierRegistry(List<FlightSupplier> flightSuppliers, SupplierProperties supplierProperties) {
+        this.suppliers = flightSuppliers.stream()
+                .map(supplier -> new RegisteredSupplier(supplier, supplierProperties.resolve(supplier.getName())))
+                .toList();
+        suppliers.forEach(supplier -> log.info("Registered flight supplier {} (enabled={}, timeout={}, maxConcurrentCalls={})",
+                supplier.getName(), supplier.isEnabled(), supplier.getTimeout(),
+                supplier.getBulkhead().getMaxConcurrentCalls()));
+    }
+
+    public List<RegisteredSupplier> getSuppliers() {
+        return suppliers;
+    }
+
+    public List<RegisteredSupplier> getEnabledSuppliers() {
+        return suppliers.stream().filter(RegisteredSupplier::isEnabled).toList();
+    }
+
+    public static class RegisteredSupplier {
+        private final FlightSupplier supplier;
+        private final boolean enabled;
+        private final Duration timeout;
+        private final Bulkhead bulkhead;
+        private final CircuitBreaker circuitBreaker;
+
+        RegisteredSupplier(FlightSupplier supplier, SupplierProperties.Settings settings) {
+            this.supplier = supplier;
+            this.enabled = settings.getEnabled();
+            this.timeout = settings.getTimeout();
+            this.bulkhead = new Bulkhead(settings.getMaxConcurrentCalls());
+            this.circuitBreaker = new CircuitBreaker(
+                    supplier.getName(),
+                    settings.getFailureRateThreshold(),
+                    settings.getSlowCallRateThreshold(),
+                    settings.getSlowCallDuration(),
+                    settings.getSlidingWindowSize(),
+                    settings.getMinimumNumberOfCalls(),
+                    settings.getWaitDurationInOpenState(),
+                    settings.getPermittedCallsInHalfOpenState());
+        }
+
+        public String getName() {
+            return supplier.getName();
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public Bulkhead getBulkhead() {
+            return bulkhead;
+        }
+
+        public CircuitBreaker getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        // Calls are rejected without touching the supplier while its breaker is open or its bulkhead is full
+        CompletableFuture<List<Flight>> searchFlights(FlightSearchCriteriaDTO flightSearchCriteriaDTO) {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return CompletableFuture.failedFuture(new CallNotPermittedException(
+                        "Circuit breaker of supplier " + getName() + " is " + circuitBreaker.getState()));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.releasePermission();
+                return CompletableFuture.failedFuture(new RejectedExecutionException(
+                        "Supplier " + getName() + " reached its limit of " + bulkhead.getMaxConcurrentCalls()
+                                + " concurrent calls"));
+            }
+
+            long start = System.nanoTime();
+            CompletableFuture<List<Flight>> call;
+            try {
+                call = supplier.searchFlightsAsync(flightSearchCriteriaDTO);
+            } catch (RuntimeException e) {
+                bulkhead.release();
+                circuitBreaker.onResult(System.nanoTime() - start, true);
+                return CompletableFuture.failedFuture(e);
+            }
+            // The permit is held until the upstream call itself ends, not just until the caller stops waiting, so the
+            // bulkhead keeps bounding real concurrent calls when a slow supplier outlives the timeout
+            call.whenComplete((flights, error) -> bulkhead.release());
+            // The timeout applies to a derived future only; orTimeout on the call itself would complete it early
+            return call.<List<Flight>>thenApply(List::copyOf)
+                    .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                    .whenComplete((flights, error) ->
+                            circuitBreaker.onResult(System.nanoTime() - start, error != null));
+        }
+    }
+}
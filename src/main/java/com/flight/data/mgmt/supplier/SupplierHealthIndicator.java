@@ -0,0 +1,45 @@
+package com.flight.data.mgmt.supplier;
+
+import com.flight.data.mgmt.resilience.Bulkhead;
+import com.flight.data.mgmt.resilience.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Reported as DEGRADED rather than DOWN: local flights are still served while a supplier is cut off
+@Component
+@RequiredArgsConstructor
+public class SupplierHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED");
+
+    private final FlightSupplierRegistry flightSupplierRegistry;
+
+    @Override
+    public Health health() {
+        boolean degraded = false;
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (FlightSupplierRegistry.RegisteredSupplier supplier : flightSupplierRegistry.getSuppliers()) {
+            CircuitBreaker circuitBreaker = supplier.getCircuitBreaker();
+            Bulkhead bulkhead = supplier.getBulkhead();
+            degraded |= supplier.isEnabled() && circuitBreaker.getState() != CircuitBreaker.State.CLOSED;
+
+            Map<String, Object> supplierDetails = new LinkedHashMap<>();
+            supplierDetails.put("enabled", supplier.isEnabled());
+            supplierDetails.put("circuitBreakerState", circuitBreaker.getState());
+            supplierDetails.put("failureRate", circuitBreaker.getFailureRate());
+            supplierDetails.put("slowCallRate", circuitBreaker.getSlowCallRate());
+            supplierDetails.put("circuitBreakerRejectedCalls", circuitBreaker.getRejectedCalls());
+            supplierDetails.put("activeCalls", bulkhead.getActiveCalls());
+            supplierDetails.put("maxConcurrentCalls", bulkhead.getMaxConcurrentCalls());
+            supplierDetails.put("bulkheadRejectedCalls", bulkhead.getRejectedCalls());
+            details.put(supplier.getName(), supplierDetails);
+        }
+        return Health.status(degraded ? DEGRADED : Status.UP).withDetails(details).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.flight.data.mgmt.supplier;
+
+import com.flight.data.mgmt.cache.SupplierSearchKey;
+import com.flight.data.mgmt.cache.TtlCache;
+import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.supplier.FlightSupplierRegistry.RegisteredSupplier;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Scatter-gather over every enabled {@link FlightSupplier}. All suppliers are called in parallel and each answer
+ * is merged as soon as it arrives; suppliers still running when the budget runs out are left out of the result.
+ */
+@Service
+@RequiredArgsConstructor
+public class SupplierSearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierSearchEngine.class);
+
+    private final FlightSupplierRegistry flightSupplierRegistry;
+    private final TtlCache<SupplierSearchKey, List<Flight>> supplierSearchCache;
+    private final SearchMetrics searchMetrics;
+
+    public CompletableFuture<SupplierSearchResult> search(FlightSearchCriteriaDTO flightSearchCriteriaDTO, Duration budget) {
+        return search(flightSearchCriteriaDTO, budget, (supplier, flights) -> {
+        });
+    }
+
+    // onAnswer gets each supplier's flights as soon as they arrive, possibly after the returned future has completed
+    public CompletableFuture<SupplierSearchResult> search(FlightSearchCriteriaDTO flightSearchCriteriaDTO, Duration budget,
+                                                          BiConsumer<String, List<Flight>> onAnswer) {
+        List<RegisteredSupplier> suppliers = flightSupplierRegistry.getEnabledSuppliers();
+        Map<String, List<Flight>> answered = new ConcurrentHashMap<>();
+
+        CompletableFuture<?>[] calls = suppliers.stream()
+                .map(supplier -> searchSupplier(supplier, flightSearchCriteriaDTO)
+                        .thenAccept(flights -> {
+                            answered.put(supplier.getName(), flights);
+                            onAnswer.accept(supplier.getName(), flights);
+                        })
+                        .exceptionally(error -> {
+                            log.warn("Supplier {} dropped from search: {}", supplier.getName(), describe(error));
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(calls)
+                .completeOnTimeout(null, budget.toNanos(), TimeUnit.NANOSECONDS)
+                .thenApply(ignored -> {
+                    Map<String, List<Flight>> snapshot = Map.copyOf(answered);
+                    List<Flight> flights = snapshot.values().stream().flatMap(List::stream).toList();
+                    return new SupplierSearchResult(flights, snapshot.size() == suppliers.size());
+                });
+    }
+
+    private CompletableFuture<List<Flight>> searchSupplier(RegisteredSupplier supplier,
+                                                          FlightSearchCriteriaDTO flightSearchCriteriaDTO) {
+        // Only cache misses reach the supplier, so only they are timed as supplier requests
+        return supplierSearchCache.getOrLoad(
+                SupplierSearchKey.of(supplier.getName(), flightSearchCriteriaDTO),
+                () -> searchMetrics.timeSupplierRequest(
+                        supplier.getName(), supplier.searchFlights(flightSearchCriteriaDTO)));
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+    }
+}
@@ -0,0 +1,9 @@
+package com.flight.data.mgmt.supplier;
+
+import com.flight.data.mgmt.model.Flight;
+
+import java.util.List;
+
+// complete is false when any enabled supplier failed, was rejected or missed the deadline
+public record SupplierSearchResult(List<Flight> flights, boolean complete) {
+}
@@ -0,0 +1,172 @@
+package com.flight.data.mgmt.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.flight.data.mgmt.cache.FlightResponseCache.CachedResponse;
+import com.flight.data.mgmt.config.ErrorMessages;
+import com.flight.data.mgmt.config.JacksonConfig;
+import com.flight.data.mgmt.config.ResponseFormat;
+import com.flight.data.mgmt.dto.FlightPageDTO;
+import com.flight.data.mgmt.dto.FlightResponseDTO;
+import com.flight.data.mgmt.exception.FlightValidationException;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.model.Flight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightResponseCacheTest {
+
+    private static final Instant DEPARTURE = Instant.parse("2030-01-01T10:00:00Z");
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final FlightResponseCache cache = createCache(true, 1024);
+
+    @Test
+    @DisplayName("Should serialize a page once and serve the same bytes until a write on its route")
+    void get_ServesSerializedPageUntilInvalidated() {
+        FlightResponseKey key = FlightResponseKey.route("lhr", "JFK", null, null, ResponseFormat.JSON);
+
+        CachedResponse first = cache.get(key, () -> page("BA100"));
+        CachedResponse second = cache.get(FlightResponseKey.route("LHR", "jfk", null, null, ResponseFormat.JSON),
+                () -> page("BA101"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertTrue(new String(first.body(), StandardCharsets.UTF_8).startsWith("[{\"flightNumber\":\"BA100\""));
+        assertEquals("next", first.nextPageToken());
+
+        cache.invalidate(List.of(flight("LHR", "JFK")));
+
+        assertNotEquals(first.etag(false), cache.get(key, () -> page("BA101")).etag(false));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should drop route pages of the written route and departure pages of its origin only")
+    void invalidate_OnlyAffectedRoutes() {
+        FlightResponseKey written = FlightResponseKey.route("LHR", "JFK", null, null, ResponseFormat.JSON);
+        FlightResponseKey otherDestination = FlightResponseKey.route("LHR", "CDG", null, null, ResponseFormat.JSON);
+        FlightResponseKey origin = FlightResponseKey.departureAirport("LHR", DEPARTURE, null, 50, null,
+                ResponseFormat.JSON);
+        FlightResponseKey otherOrigin = FlightResponseKey.departureAirport("AMS", DEPARTURE, null, 50, null,
+                ResponseFormat.JSON);
+        for (FlightResponseKey key : List.of(written, otherDestination, origin, otherOrigin)) {
+            cache.get(key, () -> page("BA100"));
+        }
+
+        cache.invalidate(List.of(flight("LHR", "JFK")));
+        for (FlightResponseKey key : List.of(written, otherDestination, origin, otherOrigin)) {
+            cache.get(key, () -> page("BA100"));
+        }
+
+        assertEquals(6, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should keep a gzip copy with its own ETag only for bodies above the threshold")
+    void get_GzipAboveThreshold() throws IOException {
+        FlightResponseKey key = FlightResponseKey.route("LHR", "JFK", null, null, ResponseFormat.JSON);
+        CachedResponse small = createCache(true, 100_000).get(key, () -> page("BA100"));
+        CachedResponse large = createCache(true, 10).get(key, () -> page("BA100"));
+
+        assertNull(small.gzipBody());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(large.gzipBody()))) {
+            assertArrayEquals(large.body(), gzip.readAllBytes());
+        }
+        assertNotEquals(large.etag(false), large.etag(true));
+        assertTrue(large.matches(List.of("\"other\"", large.etag(true))));
+        assertTrue(large.matches(List.of("W/" + large.etag(false))));
+        assertTrue(large.matches(List.of("*")));
+        assertFalse(large.matches(List.of("\"other\"")));
+    }
+
+    @Test
+    @DisplayName("Should cache each format separately and write Instants as epoch seconds in binary formats")
+    void get_BinaryFormats() throws IOException {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+
+        CachedResponse json = cache.get(FlightResponseKey.route("LHR", "JFK", null, null, ResponseFormat.JSON),
+                () -> page("BA100"));
+        CachedResponse smile = cache.get(FlightResponseKey.route("LHR", "JFK", null, null, ResponseFormat.SMILE),
+                () -> page("BA100"));
+        CachedResponse cbor = cache.get(FlightResponseKey.route("LHR", "JFK", null, null, ResponseFormat.CBOR),
+                () -> page("BA100"));
+
+        assertEquals(3, loads.get());
+        assertTrue(smile.body().length < json.body().length);
+        assertTrue(cbor.body().length < json.body().length);
+        assertNotEquals(smile.etag(false), cbor.etag(false));
+        JsonNode flight = jacksonConfig.cborMapper().readTree(cbor.body()).get(0);
+        assertTrue(flight.get("departureTime").isBigDecimal());
+        assertEquals(0, BigDecimal.valueOf(DEPARTURE.getEpochSecond())
+                .compareTo(flight.get("departureTime").decimalValue()));
+        FlightResponseDTO[] decoded = jacksonConfig.smileMapper().readValue(smile.body(), FlightResponseDTO[].class);
+        assertEquals(DEPARTURE, decoded[0].getDepartureTime());
+    }
+
+    @Test
+    @DisplayName("Should rethrow validation errors and cache nothing for them")
+    void get_PropagatesValidationErrors() {
+        FlightResponseKey key = FlightResponseKey.route("LHR", "JFK", 0, null, ResponseFormat.JSON);
+        FlightValidationException invalid = new FlightValidationException("Pagination parameter validation failed",
+                Collections.singletonList(ErrorMessages.INVALID_PAGE_SIZE + 1000));
+
+        assertSame(invalid, assertThrows(FlightValidationException.class, () -> cache.get(key, () -> {
+            throw invalid;
+        })));
+        cache.get(key, () -> page("BA100"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should serialize on every request when disabled")
+    void get_Disabled() {
+        FlightResponseCache disabled = createCache(false, 1024);
+        FlightResponseKey key = FlightResponseKey.route("LHR", "JFK", null, null, ResponseFormat.JSON);
+
+        disabled.get(key, () -> page("BA100"));
+        disabled.get(key, () -> page("BA100"));
+
+        assertEquals(2, loads.get());
+    }
+
+    private FlightResponseCache createCache(boolean enabled, int gzipMinSize) {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        return new FlightResponseCache(jacksonConfig.objectMapper(), jacksonConfig.smileMapper(),
+                jacksonConfig.cborMapper(), new SearchMetrics(new SimpleMeterRegistry()), enabled, Duration.ofMinutes(5),
+                100, gzipMinSize);
+    }
+
+    private FlightPageDTO page(String flightNumber) {
+        loads.incrementAndGet();
+        FlightResponseDTO flight = FlightResponseDTO.builder()
+                .flightNumber(flightNumber)
+                .airline("BA")
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .departureTime(DEPARTURE)
+                .arrivalTime(DEPARTURE.plus(Duration.ofHours(8)))
+                .build();
+        return new FlightPageDTO(List.of(flight), "next");
+    }
+
+    private static Flight flight(String departureAirport, String destinationAirport) {
+        return Flight.builder()
+                .departureAirport(departureAirport)
+                .destinationAirport(destinationAirport)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.flight.data.mgmt.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should coalesce concurrent lookups of the same key into one load")
+    void coalescesInFlightLoads() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 10, clock::get);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.getOrLoad("LHR-JFK", () -> load(upstream));
+        CompletableFuture<String> second = cache.getOrLoad("LHR-JFK", () -> load(upstream));
+        upstream.complete("flights");
+
+        assertEquals("flights", first.join());
+        assertEquals("flights", second.join());
+        assertEquals(1, loads.get());
+        assertEquals(new TtlCache.CacheStats(1, 1, 0, 1), cache.stats());
+    }
+
+    @Test
+    @DisplayName("Should reload a key once its TTL has elapsed")
+    void reloadsAfterTtl() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 10, clock::get);
+
+        cache.getOrLoad("LHR-JFK", () -> load(CompletableFuture.completedFuture("old"))).join();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals("old", cache.getOrLoad("LHR-JFK", () -> load(CompletableFuture.completedFuture("new"))).join());
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals("new", cache.getOrLoad("LHR-JFK", () -> load(CompletableFuture.completedFuture("new"))).join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest entries when the size bound is exceeded")
+    void evictsOldestBeyondMaxSize() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 2, clock::get);
+
+        cache.getOrLoad("A", () -> load(CompletableFuture.completedFuture("a")));
+        cache.getOrLoad("B", () -> load(CompletableFuture.completedFuture("b")));
+        cache.getOrLoad("C", () -> load(CompletableFuture.completedFuture("c")));
+        cache.getOrLoad("A", () -> load(CompletableFuture.completedFuture("a")));
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.stats().size());
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("Should not cache failed loads")
+    void doesNotCacheFailures() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 10, clock::get);
+
+        CompletableFuture<String> failed = cache.getOrLoad("LHR-JFK",
+                () -> load(CompletableFuture.failedFuture(new IllegalStateException("supplier down"))));
+
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals("flights", cache.getOrLoad("LHR-JFK",
+                () -> load(CompletableFuture.completedFuture("flights"))).join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should keep loading for other callers when one caller cancels")
+    void cancellingOneCallerDoesNotAffectOthers() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 10, clock::get);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> impatient = cache.getOrLoad("LHR-JFK", () -> load(upstream));
+        CompletableFuture<String> patient = cache.getOrLoad("LHR-JFK", () -> load(upstream));
+        impatient.cancel(true);
+        upstream.complete("flights");
+
+        assertEquals("flights", patient.join());
+        assertEquals("flights", cache.getOrLoad("LHR-JFK", () -> load(upstream)).join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should drop matching entries, including one still loading, and keep the rest")
+    void invalidatesMatchingKeys() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 10, clock::get);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        cache.getOrLoad("LHR-JFK", () -> load(CompletableFuture.completedFuture("stale")));
+        CompletableFuture<String> loading = cache.getOrLoad("LHR-CDG", () -> load(upstream));
+        cache.getOrLoad("AMS-JFK", () -> load(CompletableFuture.completedFuture("kept")));
+        cache.invalidateIf(key -> key.startsWith("LHR"));
+        upstream.complete("raced");
+
+        assertEquals("raced", loading.join());
+        assertEquals("fresh", cache.getOrLoad("LHR-JFK", () -> load(CompletableFuture.completedFuture("fresh"))).join());
+        assertEquals("fresh", cache.getOrLoad("LHR-CDG", () -> load(CompletableFuture.completedFuture("fresh"))).join());
+        assertEquals("kept", cache.getOrLoad("AMS-JFK", () -> load(CompletableFuture.completedFuture("new"))).join());
+        assertEquals(5, loads.get());
+    }
+
+    private CompletableFuture<String> load(CompletableFuture<String> result) {
+        loads.incrementAndGet();
+        return result;
+    }
+}
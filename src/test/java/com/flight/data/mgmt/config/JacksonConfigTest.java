@@ -0,0 +1,36 @@
+package com.flight.data.mgmt.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flight.data.mgmt.dto.FlightResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacksonConfigTest {
+
+    private static final Instant DEPARTURE = Instant.parse("2030-01-01T10:00:00.123456789Z");
+
+    private final JacksonConfig jacksonConfig = new JacksonConfig();
+
+    @Test
+    @DisplayName("Should round-trip sub-millisecond Instants through JSON, Smile and CBOR alike")
+    void instantsKeepNanosecondPrecision() throws IOException {
+        FlightResponseDTO flight = FlightResponseDTO.builder()
+                .flightNumber("BA000100")
+                .departureTime(DEPARTURE)
+                .arrivalTime(DEPARTURE.plusNanos(1))
+                .build();
+
+        for (ObjectMapper mapper : List.of(jacksonConfig.objectMapper(), jacksonConfig.smileMapper(),
+                jacksonConfig.cborMapper())) {
+            FlightResponseDTO decoded = mapper.readValue(mapper.writeValueAsBytes(flight), FlightResponseDTO.class);
+
+            assertEquals(flight, decoded, mapper.getFactory().getFormatName());
+        }
+    }
+}
@@ -1,18 +1,52 @@
 package com.flight.data.mgmt.controller;
 
+import com.flight.data.mgmt.cache.FlightResponseCache;
+import com.flight.data.mgmt.cache.FlightResponseCache.CachedResponse;
+import com.flight.data.mgmt.cache.FlightResponseKey;
+import com.flight.data.mgmt.config.ResponseFormat;
+import com.flight.data.mgmt.config.ErrorMessages;
+import com.flight.data.mgmt.dto.FlightRequestDTO;
 import com.flight.data.mgmt.dto.FlightResponseDTO;
+import com.flight.data.mgmt.dto.FlightSearchBatchDTO;
 import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.dto.FlightSearchResultDTO;
+import com.flight.data.mgmt.dto.FlightSearchSummaryDTO;
+import com.flight.data.mgmt.exception.FlightWriteRejectedException;
+import com.flight.data.mgmt.service.FlightExportService;
+import com.flight.data.mgmt.service.FlightImportService;
+import com.flight.data.mgmt.service.FlightSearchListener;
 import com.flight.data.mgmt.service.FlightService;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(FlightController.class)
 public class FlightControllerTest {
@@ -20,6 +54,18 @@ public class FlightControllerTest {
     @MockBean
     private FlightService flightService;
 
+    @MockBean
+    private FlightImportService flightImportService;
+
+    @MockBean
+    private FlightExportService flightExportService;
+
+    @MockBean
+    private FlightResponseCache flightResponseCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
     Instant now = Instant.now();
     String departureAirport = "LAX";
     String destinationAirport = "BLR";
@@ -35,8 +81,140 @@ public class FlightControllerTest {
                 .build();
 
         when(flightService.searchFlights(any(FlightSearchCriteriaDTO.class)))
-                .thenReturn(Collections.singletonList(flight));
+                .thenReturn(new FlightSearchResultDTO(Collections.singletonList(flight), false));
+
+    }
+
+    @Test
+    @DisplayName("Should send each batch and then the summary as named server-sent events")
+    public void streamSearch_SendsEvents() throws Exception {
+        FlightResponseDTO flight = FlightResponseDTO.builder().flightNumber("AA100").build();
+        doAnswer(invocation -> {
+            FlightSearchListener listener = invocation.getArgument(1);
+            listener.onFlights(new FlightSearchBatchDTO("local", 5, List.of(flight)));
+            listener.onComplete(new FlightSearchSummaryDTO(true, 1, 7));
+            return null;
+        }).when(flightService).streamFlights(any(FlightSearchCriteriaDTO.class), any(FlightSearchListener.class));
+
+        MvcResult result = mockMvc.perform(get("/v1/api/flights/search-airline/stream")
+                        .param("departureAirport", departureAirport)
+                        .param("destinationAirport", destinationAirport)
+                        .param("outboundDate", now.toString())
+                        .param("inboundDate", arrivalTime.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        int batch = body.indexOf("event:flights\ndata:{\"source\":\"local\",\"elapsedMs\":5,\"flights\":[{\"flightNumber\":\"AA100\"");
+        int summary = body.indexOf("event:complete\ndata:{\"partial\":true,\"flights\":1,\"elapsedMs\":7}");
+        assertTrue(batch >= 0, body);
+        assertTrue(summary > batch, body);
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 and serve gzip only when accepted")
+    public void searchByRoute_ConditionalAndCompressed() throws Exception {
+        CachedResponse page = CachedResponse.of("[{\"flightNumber\":\"AA100\"}]".getBytes(StandardCharsets.UTF_8),
+                "token", 1);
+        when(flightResponseCache.get(eq(FlightResponseKey.route("LAX", "BLR", null, null, ResponseFormat.JSON)), any()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/v1/api/flights/route").param("departureAirport", "LAX").param("destinationAirport", "BLR"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, page.etag(false)))
+                .andExpect(header().string("X-Next-Page-Token", "token"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(page.body()));
+
+        mockMvc.perform(get("/v1/api/flights/route").param("departureAirport", "LAX").param("destinationAirport", "BLR")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, page.etag(true)))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(page.gzipBody()));
+
+        mockMvc.perform(get("/v1/api/flights/route").param("departureAirport", "LAX").param("destinationAirport", "BLR")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0")
+                        .header(HttpHeaders.IF_NONE_MATCH, page.etag(true)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, page.etag(false)))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip;q=0", "gzip;q=0.0", "*;q=0", "gzip; q = 0", "GZIP;Q=0.000", "gzip;q=0, *",
+            "deflate, gzip;q=bad"})
+    @DisplayName("Should serve the identity body when gzip is refused with a zero or malformed q-value")
+    public void searchByRoute_GzipRefused(String acceptEncoding) throws Exception {
+        CachedResponse page = CachedResponse.of("[{\"flightNumber\":\"AA100\"}]".getBytes(StandardCharsets.UTF_8),
+                null, 1);
+        when(flightResponseCache.get(eq(FlightResponseKey.route("LAX", "BLR", null, null, ResponseFormat.JSON)), any()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/v1/api/flights/route").param("departureAirport", "LAX").param("destinationAirport", "BLR")
+                        .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, page.etag(false)))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(page.body()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "*", "gzip;q=0.001", "br;q=0, *;q=0.5", "*;q=0, gzip"})
+    @DisplayName("Should serve the gzip body when gzip is accepted by name or through *")
+    public void searchByRoute_GzipAccepted(String acceptEncoding) throws Exception {
+        CachedResponse page = CachedResponse.of("[{\"flightNumber\":\"AA100\"}]".getBytes(StandardCharsets.UTF_8),
+                null, 1);
+        when(flightResponseCache.get(eq(FlightResponseKey.route("LAX", "BLR", null, null, ResponseFormat.JSON)), any()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/v1/api/flights/route").param("departureAirport", "LAX").param("destinationAirport", "BLR")
+                        .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(page.gzipBody()));
+    }
+
+    @Test
+    @DisplayName("Should serve the cached page of the best accepted binary format")
+    public void searchByRoute_NegotiatesBinaryFormat() throws Exception {
+        CachedResponse page = CachedResponse.of(new byte[]{(byte) 0x81, (byte) 0xa0}, null, 1024);
+        when(flightResponseCache.get(eq(FlightResponseKey.route("LAX", "BLR", null, null, ResponseFormat.CBOR)), any()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/v1/api/flights/route").param("departureAirport", "LAX").param("destinationAirport", "BLR")
+                        .header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(content().bytes(page.body()));
+
+        mockMvc.perform(get("/v1/api/flights/route").param("departureAirport", "LAX").param("destinationAirport", "BLR")
+                        .header(HttpHeaders.ACCEPT, "application/xml"))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    @DisplayName("Should answer 202 once a write-behind create is queued and 503 with Retry-After when it is not")
+    public void createFlight_WriteBehind() throws Exception {
+        String body = """
+                {"airline":"AA","supplier":"LocalDB","fare":120.5,"departureAirport":"LHR","destinationAirport":"JFK",\
+                "departureTime":"2030-01-01T10:00:00Z","arrivalTime":"2030-01-01T18:00:00Z"}""";
+        when(flightService.isWriteBehindEnabled()).thenReturn(true);
+        when(flightService.createFlight(any(FlightRequestDTO.class)))
+                .thenReturn(FlightResponseDTO.builder().flightNumber("AA100").build())
+                .thenThrow(new FlightWriteRejectedException(ErrorMessages.WRITE_BEHIND_QUEUE_FULL));
+
+        mockMvc.perform(post("/v1/api/flights").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.flightNumber").value("AA100"));
 
+        mockMvc.perform(post("/v1/api/flights").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.errors[0]").value(ErrorMessages.WRITE_BEHIND_QUEUE_FULL));
     }
 
 }
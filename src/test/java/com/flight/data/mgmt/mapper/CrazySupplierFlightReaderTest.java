@@ -0,0 +1,105 @@
+package com.flight.data.mgmt.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.flight.data.mgmt.config.JacksonConfig;
+import com.flight.data.mgmt.dto.CrazySupplierFlightResponseDTO;
+import com.flight.data.mgmt.model.Flight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrazySupplierFlightReaderTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final CrazySupplierFlightReader reader = new CrazySupplierFlightReader(objectMapper);
+    private final CrazySupplierMapper mapper = new CrazySupplierMapper();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            """
+            {"carrier":"CS","basePrice":380,"tax":40.5,"departureAirport":"LHR","arrivalAirport":"JFK",\
+            "outboundDateTime":"2030-01-01T10:00:00Z","inboundDateTime":"2030-01-01T18:00:00Z"}""",
+            """
+            {"inboundDateTime":"2030-03-31T01:30:00.250Z","outboundDateTime":"2030-03-30T23:59:59+02:00",\
+            "carrier":"CS","basePrice":"99.5","tax":null,"extra":{"nested":[1,{"a":2}]},"arrivalAirport":123}""",
+            """
+            {"carrier":null,"outboundDateTime":1893492000,"inboundDateTime":1893492000.5,"departureAirport":"AMS"}""",
+            """
+            {"outboundDateTime":"2028-02-29T00:00:00Z","inboundDateTime":"2030-01-01t10:00:00z","tax":7}""",
+            "{}"
+    })
+    @DisplayName("Should read the same Flight as Jackson's DTO followed by CrazySupplierMapper")
+    void read_MatchesDtoMapping(String json) throws IOException {
+        Flight expected = mapper.toFlight(objectMapper.readValue(json, CrazySupplierFlightResponseDTO.class));
+
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.nextToken();
+            assertEquals(expected, reader.read(parser));
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the parser after the object so the next array element can be read")
+    void read_ConsecutiveElements() throws IOException {
+        String json = """
+                [{"carrier":"A","skip":[{"carrier":"X"}]},{"carrier":"B"}]""";
+
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.nextToken();
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals("A", reader.read(parser).getAirLine());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals("B", reader.read(parser).getAirLine());
+            assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report an impossible date the way Jackson does")
+    void read_InvalidDate() throws IOException {
+        try (JsonParser parser = objectMapper.createParser("{\"outboundDateTime\":\"2030-02-30T10:00:00Z\"}")) {
+            parser.nextToken();
+            assertThrows(InvalidFormatException.class, () -> reader.read(parser));
+        }
+    }
+
+    @Test
+    @DisplayName("Should parse UTC second timestamps exactly like Instant.parse across years and DST changes")
+    void parseUtcSeconds_MatchesInstantParse() {
+        Instant start = Instant.parse("1999-12-31T23:00:00Z");
+        for (long hours = 0; hours < 24 * 366 * 5; hours += 7) {
+            String text = start.plusSeconds(hours * 3_599).toString();
+            assertEquals(Instant.parse(text),
+                    CrazySupplierFlightReader.parseUtcSeconds(text.toCharArray(), 0, text.length()), text);
+        }
+        assertNull(CrazySupplierFlightReader.parseUtcSeconds("2030-13-01T10:00:00Z".toCharArray(), 0, 20));
+        assertNull(CrazySupplierFlightReader.parseUtcSeconds("2029-02-29T10:00:00Z".toCharArray(), 0, 20));
+    }
+
+    @Test
+    @DisplayName("Should keep supplier instants unchanged, as the former CET to UTC zone round trip did")
+    void toFlight_InstantsUnchanged() {
+        // Last Sunday of March 2030, the CET to CEST switch
+        Instant switchover = Instant.parse("2030-03-31T01:00:00Z");
+        for (Instant instant : new Instant[]{switchover.minusSeconds(1), switchover, switchover.plusSeconds(3_600)}) {
+            Flight flight = mapper.toFlight(CrazySupplierFlightResponseDTO.builder()
+                    .outboundDateTime(instant)
+                    .inboundDateTime(instant)
+                    .build());
+
+            assertEquals(instant.atZone(ZoneId.of("CET")).withZoneSameInstant(ZoneId.of("UTC")).toInstant(),
+                    flight.getDepartureTime());
+        }
+    }
+}
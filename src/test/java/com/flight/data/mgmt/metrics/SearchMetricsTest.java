@@ -0,0 +1,48 @@
+package com.flight.data.mgmt.metrics;
+
+import com.flight.data.mgmt.resilience.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SearchMetrics searchMetrics = new SearchMetrics(registry);
+
+    @Test
+    @DisplayName("Should time each stage and summarize result sizes per endpoint")
+    void recordsStagesAndResults() {
+        searchMetrics.recordStage(SearchMetrics.SEARCH, SearchMetrics.Stage.LOCAL_QUERY, System.nanoTime());
+        searchMetrics.recordStage(SearchMetrics.SEARCH, SearchMetrics.Stage.LOCAL_QUERY, System.nanoTime());
+        searchMetrics.recordResults(SearchMetrics.ROUTE, "local", 7);
+
+        assertEquals(2, registry.get(SearchMetrics.STAGE_TIMER)
+                .tags("endpoint", "search-airline", "stage", "local_query").timer().count());
+        assertEquals(7, registry.get(SearchMetrics.RESULTS_SUMMARY)
+                .tags("endpoint", "route", "source", "local").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should tag supplier requests with how they ended")
+    void tagsSupplierOutcomes() {
+        searchMetrics.timeSupplierRequest("crazy-supplier", CompletableFuture.completedFuture(List.of()));
+        searchMetrics.timeSupplierRequest("crazy-supplier", CompletableFuture.failedFuture(new TimeoutException()));
+        searchMetrics.timeSupplierRequest("crazy-supplier",
+                CompletableFuture.failedFuture(new CallNotPermittedException("open")));
+        CompletableFuture<List<Object>> failing = new CompletableFuture<>();
+        searchMetrics.timeSupplierRequest("crazy-supplier", failing.thenApply(List::copyOf));
+        failing.completeExceptionally(new IllegalStateException("502"));
+
+        for (String outcome : List.of("success", "timeout", "rejected", "error")) {
+            assertEquals(1, registry.get(SearchMetrics.SUPPLIER_REQUEST_TIMER)
+                    .tags("supplier", "crazy-supplier", "outcome", outcome).timer().count(), outcome);
+        }
+    }
+}
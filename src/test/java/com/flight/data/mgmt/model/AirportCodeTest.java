@@ -0,0 +1,68 @@
+package com.flight.data.mgmt.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AirportCodeTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"LHR", "jfk", "bLr", "AAA", "ZZZ"})
+    @DisplayName("Should accept three ASCII letters in any case")
+    void isValid_ThreeLetters(String code) {
+        assertTrue(AirportCode.isValid(code));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "LH", "LHRX", "LH1", "L-R", "@HR", "[HR", "`HR", "{HR", "LHÉ", " LH"})
+    @DisplayName("Should reject anything that is not exactly three ASCII letters")
+    void isValid_RejectsInvalid(String code) {
+        assertFalse(AirportCode.isValid(code));
+        assertEquals(-1, AirportCode.pack(code));
+    }
+
+    @Test
+    @DisplayName("Should treat null as invalid")
+    void isValid_Null() {
+        assertFalse(AirportCode.isValid(null));
+        assertThrows(IllegalArgumentException.class, () -> AirportCode.of(null));
+    }
+
+    @Test
+    @DisplayName("Should pack codes case-insensitively into 15 bits and round-trip to upper case")
+    void pack_RoundTrip() {
+        int packed = AirportCode.pack("jfk");
+
+        assertEquals(packed, AirportCode.pack("JFK"));
+        assertTrue(packed > 0 && packed < 1 << AirportCode.BITS);
+        assertEquals("JFK", AirportCode.fromPacked(packed).toString());
+    }
+
+    @Test
+    @DisplayName("Should return the same interned instance for equal codes")
+    void of_Interned() {
+        AirportCode code = AirportCode.of("lhr");
+
+        assertSame(code, AirportCode.of("LHR"));
+        assertEquals(code.packed(), code.hashCode());
+        assertNotEquals(code, AirportCode.of("LHX"));
+    }
+
+    @Test
+    @DisplayName("Should order codes alphabetically")
+    void compareTo_Alphabetical() {
+        assertTrue(AirportCode.of("AMS").compareTo(AirportCode.of("LHR")) < 0);
+        assertTrue(AirportCode.of("ZRH").compareTo(AirportCode.of("LHR")) > 0);
+    }
+
+    @Test
+    @DisplayName("Should upper-case valid codes and leave invalid values untouched")
+    void normalize() {
+        assertEquals("LHR", AirportCode.normalize("lhr"));
+        assertEquals("L1R", AirportCode.normalize("L1R"));
+        assertNull(AirportCode.normalize(null));
+    }
+}
@@ -0,0 +1,41 @@
+package com.flight.data.mgmt.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Records the SQL Hibernate generates so tests can EXPLAIN exactly what a repository method runs
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (statements) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    public static int count() {
+        synchronized (statements) {
+            return statements.size();
+        }
+    }
+
+    public static String last() {
+        synchronized (statements) {
+            if (statements.isEmpty()) {
+                throw new IllegalStateException("No SQL statement was captured");
+            }
+            return statements.getLast();
+        }
+    }
+}
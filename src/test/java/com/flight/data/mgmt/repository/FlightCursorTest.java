@@ -0,0 +1,29 @@
+package com.flight.data.mgmt.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip through an opaque URL-safe token")
+    void encodeDecode_RoundTrip() {
+        FlightCursor cursor = new FlightCursor(Instant.parse("2030-01-01T10:00:00.123456789Z"), 42L);
+
+        String token = cursor.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, FlightCursor.decode(token));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens it did not produce")
+    void decode_RejectsForeignTokens() {
+        assertThrows(IllegalArgumentException.class, () -> FlightCursor.decode("not a token"));
+        assertThrows(IllegalArgumentException.class, () -> FlightCursor.decode("AAAA"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.flight.data.mgmt.repository;
+
+import com.flight.data.mgmt.config.EntityCacheConfig;
+import com.flight.data.mgmt.dto.FlightView;
+import com.flight.data.mgmt.model.Flight;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each repository call commits on its own, as it does from FlightService, so cache puts and invalidations happen
+@DataJpaTest(properties = {
+        "flight.entity-cache.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.flight.data.mgmt.repository.CapturingStatementInspector"})
+@Import(EntityCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlightRepositoryCacheTest {
+
+    private static final Instant DEPARTURE = Instant.parse("2030-01-01T10:00:00Z");
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        flight = flightRepository.save(flight("BA100", DEPARTURE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated flight number lookup without SQL")
+    void findByFlightNumber_CachedAfterFirstLookup() {
+        flightRepository.findByFlightNumber("BA100");
+
+        CapturingStatementInspector.clear();
+        assertTrue(flightRepository.findByFlightNumber("BA100").isPresent());
+
+        assertEquals(0, CapturingStatementInspector.count());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.getQueryRegionStatistics(Flight.QUERY_CACHE_REGION).getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics(Flight.CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Should read the updated flight after a write instead of the cached one")
+    void findByFlightNumber_SeesUpdate() {
+        flightRepository.findByFlightNumber("BA100");
+
+        flight.setFare(250);
+        flightRepository.save(flight);
+
+        assertEquals(250, flightRepository.findByFlightNumber("BA100").orElseThrow().getFare());
+    }
+
+    @Test
+    @DisplayName("Should drop cached route pages when a flight on the route is created or deleted")
+    void findRoutePage_InvalidatedByWrites() {
+        assertEquals(1, routePage().size());
+        CapturingStatementInspector.clear();
+        assertEquals(1, routePage().size());
+        assertEquals(0, CapturingStatementInspector.count());
+
+        Flight later = flightRepository.save(flight("BA101", DEPARTURE.plus(1, ChronoUnit.HOURS)));
+        assertEquals(2, routePage().size());
+
+        flightRepository.delete(later);
+        assertEquals(1, routePage().size());
+    }
+
+    @Test
+    @DisplayName("Should return nothing for a deleted flight number that was cached")
+    void findByFlightNumber_SeesDelete() {
+        flightRepository.findByFlightNumber("BA100");
+
+        flightRepository.delete(flight);
+
+        assertTrue(flightRepository.findByFlightNumber("BA100").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stream an export without putting its flights in the entity cache")
+    void streamFlights_BypassesEntityCache() {
+        entityManagerFactory.getCache().evictAll();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<Flight> flights = flightRepository.streamFlights(null, null, null, null, 100)) {
+                assertEquals(1, flights.toList().size());
+            }
+        });
+
+        assertFalse(entityManagerFactory.getCache().contains(Flight.class, flight.getId()));
+    }
+
+    private List<FlightView> routePage() {
+        return flightRepository.findRoutePage("LHR", "JFK", Limit.of(10));
+    }
+
+    private static Flight flight(String flightNumber, Instant departure) {
+        return Flight.builder()
+                .flightNumber(flightNumber)
+                .airLine("BA")
+                .supplier("Local DB")
+                .fare(100)
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .departureTime(departure)
+                .arrivalTime(departure.plus(8, ChronoUnit.HOURS))
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.flight.data.mgmt.repository;
+
+import com.flight.data.mgmt.model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs H2's EXPLAIN on the SQL Hibernate generates for the route and departure window queries, so a query edit that
+ * stops the planner from range scanning its index fails here instead of turning into a full scan in production.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.flight.data.mgmt.repository.CapturingStatementInspector")
+class FlightRepositoryQueryPlanTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-01T00:00:00Z");
+    private static final Instant T1 = T0.plus(1, ChronoUnit.DAYS);
+    private static final String DEPARTURE_INDEX = "IDX_AIRLINE_DEPARTURE";
+    private static final String ROUTE_INDEX = "IDX_ROUTE_DEPARTURE";
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Flight> flights = new ArrayList<>();
+        String[] airports = {"LHR", "JFK", "CDG", "AMS"};
+        for (int i = 0; i < 400; i++) {
+            Instant departure = T0.plus(i, ChronoUnit.HOURS);
+            flights.add(Flight.builder()
+                    .flightNumber("BA" + (100 + i))
+                    .airLine("BA")
+                    .supplier("Local DB")
+                    .fare(100)
+                    .departureAirport(airports[i % airports.length])
+                    .destinationAirport(airports[(i + 1) % airports.length])
+                    .departureTime(departure)
+                    .arrivalTime(departure.plus(8, ChronoUnit.HOURS))
+                    .build());
+        }
+        flightRepository.saveAllAndFlush(flights);
+    }
+
+    @Test
+    @DisplayName("Should range scan the departure index for a bounded window")
+    void departureWindow_Bounded() {
+        CapturingStatementInspector.clear();
+        assertFalse(flightRepository.findDeparturePageBetween("LHR", T0, T1, Limit.of(10)).isEmpty());
+
+        String plan = explain(CapturingStatementInspector.last());
+
+        assertRangeScan(plan, DEPARTURE_INDEX, "DEPARTURE_TIME >=", "DEPARTURE_TIME <=");
+    }
+
+    @Test
+    @DisplayName("Should range scan the departure index for an open-ended window")
+    void departureWindow_OpenEnded() {
+        CapturingStatementInspector.clear();
+        assertFalse(flightRepository.findDeparturePageFrom("LHR", T0, Limit.of(10)).isEmpty());
+
+        String plan = explain(CapturingStatementInspector.last());
+
+        assertRangeScan(plan, DEPARTURE_INDEX, "DEPARTURE_TIME >=");
+    }
+
+    @Test
+    @DisplayName("Should range scan the departure index from the cursor on later pages")
+    void departureWindow_AfterCursor() {
+        CapturingStatementInspector.clear();
+        flightRepository.findDeparturePageBetweenAfter("LHR", T0, T1, T0, 1L, Limit.of(10));
+        String bounded = explain(CapturingStatementInspector.last());
+
+        CapturingStatementInspector.clear();
+        flightRepository.findDeparturePageFromAfter("LHR", T0, T0, 1L, Limit.of(10));
+        String openEnded = explain(CapturingStatementInspector.last());
+
+        assertRangeScan(bounded, DEPARTURE_INDEX, "DEPARTURE_TIME >=", "DEPARTURE_TIME <=");
+        assertRangeScan(openEnded, DEPARTURE_INDEX, "DEPARTURE_TIME >=");
+    }
+
+    @Test
+    @DisplayName("Should range scan the route index for the search window and for later route pages")
+    void routeWindow_RangeScan() {
+        CapturingStatementInspector.clear();
+        assertFalse(flightRepository.findRouteViews("LHR", "JFK", T0, T1).isEmpty());
+        String window = explain(CapturingStatementInspector.last());
+
+        CapturingStatementInspector.clear();
+        flightRepository.findRoutePageAfter("LHR", "JFK", T0, 1L, Limit.of(10));
+        String page = explain(CapturingStatementInspector.last());
+
+        assertRangeScan(window, ROUTE_INDEX, "DESTINATION_AIRPORT =", "DEPARTURE_TIME >=", "DEPARTURE_TIME <=");
+        assertRangeScan(page, ROUTE_INDEX, "DESTINATION_AIRPORT =", "DEPARTURE_TIME >=");
+    }
+
+    @Test
+    @DisplayName("Should detect a catch-all predicate that defeats the range scan")
+    void catchAllPredicate_IsNotRangeScanned() {
+        String plan = explain("SELECT f.id FROM flights f WHERE f.departure_airport = ? AND "
+                + "(? IS NULL OR (f.departure_time >= ? AND f.departure_time <= ?))");
+
+        assertFalse(indexCondition(plan).contains("DEPARTURE_TIME"), plan);
+    }
+
+    // H2 plans a statement without its parameter values, the same way a prepared statement is planned once
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private static void assertRangeScan(String plan, String index, String... conditions) {
+        String indexCondition = indexCondition(plan);
+        assertTrue(indexCondition.contains(index), plan);
+        assertTrue(indexCondition.contains("DEPARTURE_AIRPORT ="), plan);
+        for (String condition : conditions) {
+            assertTrue(indexCondition.contains(condition), plan);
+        }
+    }
+
+    // H2 reports the chosen index and the conditions it seeks on as "/* PUBLIC.INDEX: CONDITIONS */" after the table
+    private static String indexCondition(String plan) {
+        String upper = plan.toUpperCase(Locale.ROOT);
+        int start = upper.indexOf("/* PUBLIC.", upper.indexOf("FROM"));
+        assertTrue(start >= 0, plan);
+        return upper.substring(start, upper.indexOf("*/", start));
+    }
+}
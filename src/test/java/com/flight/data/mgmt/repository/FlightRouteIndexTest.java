@@ -0,0 +1,134 @@
+package com.flight.data.mgmt.repository;
+
+import com.flight.data.mgmt.model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FlightRouteIndexTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-01T08:00:00Z");
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightRouteIndex flightRouteIndex;
+
+    @BeforeEach
+    void setUp() {
+        flightRouteIndex = new FlightRouteIndex(flightRepository, true);
+    }
+
+    @Test
+    @DisplayName("Should load every flight at startup and serve routes ordered by departure time")
+    void loadsAndOrdersByDepartureTime() {
+        Flight late = flight(1L, "LHR", "JFK", T0.plusSeconds(7200));
+        Flight early = flight(2L, "LHR", "JFK", T0);
+        Flight otherRoute = flight(3L, "LHR", "CDG", T0);
+        when(flightRepository.findAll()).thenReturn(List.of(late, early, otherRoute));
+
+        flightRouteIndex.afterSingletonsInstantiated();
+
+        assertEquals(List.of(2L, 1L), ids(flightRouteIndex.findByRoute("LHR", "JFK", null, null)));
+        assertEquals(List.of(2L, 1L), ids(flightRouteIndex.findByRoute("lhr", "jfk", null, null)));
+        assertEquals(List.of(3L), ids(flightRouteIndex.findByRoute("LHR", "CDG", null, null)));
+        assertTrue(flightRouteIndex.findByRoute("JFK", "LHR", null, null).isEmpty());
+        assertEquals(List.of(1L), ids(flightRouteIndex.findByRoute(
+                "LHR", "JFK", T0.plusSeconds(60), T0.plusSeconds(7200))));
+        assertEquals(2, flightRouteIndex.stats().routes());
+        assertEquals(3, flightRouteIndex.stats().flights());
+        assertTrue(flightRouteIndex.stats().estimatedBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Should filter flights of a departure airport by departure window")
+    void findsByDepartureWindow() {
+        flightRouteIndex.put(flight(1L, "LHR", "JFK", T0));
+        flightRouteIndex.put(flight(2L, "LHR", "CDG", T0.plusSeconds(3600)));
+        flightRouteIndex.put(flight(3L, "LHR", "JFK", T0.plusSeconds(86400)));
+        flightRouteIndex.put(flight(4L, "LHS", "JFK", T0));
+
+        assertEquals(List.of(1L, 2L), ids(flightRouteIndex.findDeparturePage(
+                "LHR", T0, T0.plusSeconds(3600), null, 10)));
+        assertEquals(List.of(1L, 2L, 3L), ids(flightRouteIndex.findDeparturePage("LHR", T0, null, null, 10)));
+        // Without an end time the window is still bounded below by the departure time
+        assertEquals(List.of(2L, 3L), ids(flightRouteIndex.findDeparturePage(
+                "LHR", T0.plusSeconds(60), null, null, 10)));
+    }
+
+    @Test
+    @DisplayName("Should page through a route and a departure window after the cursor")
+    void pagesAfterCursor() {
+        flightRouteIndex.put(flight(1L, "LHR", "JFK", T0));
+        flightRouteIndex.put(flight(2L, "LHR", "JFK", T0));
+        flightRouteIndex.put(flight(3L, "LHR", "CDG", T0.plusSeconds(60)));
+        flightRouteIndex.put(flight(4L, "LHR", "JFK", T0.plusSeconds(120)));
+
+        assertEquals(List.of(1L, 2L), ids(flightRouteIndex.findRoutePage("LHR", "JFK", null, 2)));
+        assertEquals(List.of(4L), ids(flightRouteIndex.findRoutePage("LHR", "JFK", new FlightCursor(T0, 2L), 2)));
+
+        assertEquals(List.of(2L, 3L), ids(flightRouteIndex.findDeparturePage(
+                "LHR", T0, T0.plusSeconds(120), new FlightCursor(T0, 1L), 2)));
+        // A cursor before the window start falls back to the window
+        assertEquals(List.of(3L), ids(flightRouteIndex.findDeparturePage(
+                "LHR", T0.plusSeconds(60), T0.plusSeconds(60), new FlightCursor(T0, 1L), 5)));
+        // A cursor past the window end yields nothing
+        assertTrue(flightRouteIndex.findDeparturePage(
+                "LHR", T0, T0.plusSeconds(60), new FlightCursor(T0.plusSeconds(120), 4L), 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should move a flight to its new route on update and drop it on delete")
+    void keepsIndexConsistentOnWrites() {
+        flightRouteIndex.put(flight(1L, "LHR", "JFK", T0));
+
+        flightRouteIndex.put(flight(1L, "LHR", "CDG", T0));
+        assertTrue(flightRouteIndex.findByRoute("LHR", "JFK", null, null).isEmpty());
+        assertEquals(List.of(1L), ids(flightRouteIndex.findByRoute("LHR", "CDG", null, null)));
+
+        flightRouteIndex.remove(flight(1L, "LHR", "CDG", T0));
+        assertTrue(flightRouteIndex.findByRoute("LHR", "CDG", null, null).isEmpty());
+        assertEquals(0, flightRouteIndex.stats().routes());
+    }
+
+    @Test
+    @DisplayName("Should not load or store anything when disabled")
+    void disabledIndexIsInert() {
+        FlightRouteIndex disabled = new FlightRouteIndex(flightRepository, false);
+
+        disabled.afterSingletonsInstantiated();
+        disabled.put(flight(1L, "LHR", "JFK", T0));
+
+        verifyNoInteractions(flightRepository);
+        assertEquals(0, disabled.stats().flights());
+    }
+
+    private static Flight flight(Long id, String departureAirport, String destinationAirport, Instant departureTime) {
+        return Flight.builder()
+                .id(id)
+                .flightNumber("AA" + id)
+                .airLine("AA")
+                .supplier("LocalDB")
+                .fare(100.0)
+                .departureAirport(departureAirport)
+                .destinationAirport(destinationAirport)
+                .departureTime(departureTime)
+                .arrivalTime(departureTime.plusSeconds(3600))
+                .build();
+    }
+
+    private static List<Long> ids(List<Flight> flights) {
+        return flights.stream().map(Flight::getId).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package com.flight.data.mgmt.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(3).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("test", 50f, 50f, Duration.ofSeconds(2),
+            10, 4, Duration.ofSeconds(30), 2, clock::get);
+
+    @Test
+    @DisplayName("Should stay closed until the minimum number of calls is recorded")
+    void staysClosedBelowMinimumCalls() {
+        recordCalls(3, FAST, true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Should open when the failure rate reaches the threshold and reject calls while open")
+    void opensOnFailureRate() {
+        recordCalls(2, FAST, false);
+        recordCalls(2, FAST, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(1, circuitBreaker.getRejectedCalls());
+    }
+
+    @Test
+    @DisplayName("Should open when the slow call rate reaches the threshold")
+    void opensOnSlowCallRate() {
+        recordCalls(2, FAST, false);
+        recordCalls(2, SLOW, false);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should close again after successful trial calls in half-open state")
+    void closesAfterSuccessfulTrialCalls() {
+        recordCalls(4, FAST, true);
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onResult(FAST, false);
+        circuitBreaker.onResult(FAST, false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should reopen when trial calls in half-open state fail")
+    void reopensAfterFailedTrialCalls() {
+        recordCalls(4, FAST, true);
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onResult(FAST, true);
+        circuitBreaker.onResult(FAST, false);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void recordCalls(int count, long durationNanos, boolean failed) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onResult(durationNanos, failed);
+        }
+    }
+}
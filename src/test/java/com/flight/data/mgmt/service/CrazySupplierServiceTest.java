@@ -1,15 +1,14 @@
 package com.flight.data.mgmt.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionType;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.flight.data.mgmt.config.JacksonConfig;
 import com.flight.data.mgmt.dto.CrazySupplierFlightRequestDTO;
 import com.flight.data.mgmt.dto.CrazySupplierFlightResponseDTO;
 import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
 import com.flight.data.mgmt.mapper.CrazySupplierMapper;
+import com.flight.data.mgmt.metrics.SearchMetrics;
 import com.flight.data.mgmt.model.Flight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,19 +16,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,20 +44,21 @@ import static org.mockito.Mockito.*;
 class CrazySupplierServiceTest {
 
     private static final String API_URL = "https://mocked.api/flights";
-    private static final String MOCK_REQUEST_BODY = "{\"request\":\"data\"}";
-    private static final String MOCK_RESPONSE_BODY = "[{\"response\":\"data\"}]";
     private static final String ERROR_RESPONSE_BODY = "{\"error\":\"Internal Server Error\"}";
     private static final String EMPTY_RESPONSE_BODY = "[]";
 
     @Mock
     private HttpClient httpClient;
 
-    @Mock
-    private ObjectMapper objectMapper;
+    @Spy
+    private ObjectMapper objectMapper = new JacksonConfig().objectMapper();
 
     @Mock
     private CrazySupplierMapper mapper;
 
+    @Spy
+    private SearchMetrics searchMetrics = new SearchMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private CrazySupplierService crazySupplierService;
 
@@ -84,9 +89,7 @@ class CrazySupplierServiceTest {
             assertEquals(1, result.size());
             assertEquals(expectedFlight.getAirLine(), result.getFirst().getAirLine());
 
-            verify(objectMapper).writeValueAsString(request);
             verify(httpClient).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
-            verify(objectMapper).getTypeFactory();
             verify(mapper).toFlight(responseDTO);
         }
 
@@ -96,7 +99,7 @@ class CrazySupplierServiceTest {
 
             CrazySupplierFlightRequestDTO request = buildCrazySupplierFlightRequestDTO();
 
-            mockErrorApiCall(request);
+            mockErrorApiCall();
 
             RuntimeException exception = assertThrows(
                     RuntimeException.class,
@@ -105,9 +108,7 @@ class CrazySupplierServiceTest {
 
             assertTrue(exception.getMessage().contains("API call failed with status: 500"));
 
-            verify(objectMapper).writeValueAsString(request);
             verify(httpClient).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
-            verify(objectMapper, never()).getTypeFactory();
             verify(mapper, never()).toFlight(any());
         }
 
@@ -116,17 +117,30 @@ class CrazySupplierServiceTest {
         void emptyResponseReturnsEmptyList() throws Exception {
 
             CrazySupplierFlightRequestDTO request = buildCrazySupplierFlightRequestDTO();
-            mockEmptyApiCall(request);
+            mockEmptyApiCall();
             List<Flight> result = crazySupplierService.fetchFlightsFromExternalApi(request);
 
             assertNotNull(result);
             assertTrue(result.isEmpty());
 
-            verify(objectMapper).writeValueAsString(request);
             verify(httpClient).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
-            verify(objectMapper).getTypeFactory();
             verify(mapper, never()).toFlight(any());
         }
+
+        @Test
+        @DisplayName("Should resolve the supplier types once rather than on every call")
+        void readersAreBuiltOnce() throws Exception {
+            CrazySupplierFlightRequestDTO request = buildCrazySupplierFlightRequestDTO();
+            CrazySupplierFlightResponseDTO responseDTO = buildCrazySupplierFlightResponseDTO();
+            mockSuccessfulApiCall(request, responseDTO, buildExpectedFlight());
+
+            crazySupplierService.fetchFlightsFromExternalApi(request);
+            crazySupplierService.fetchFlightsFromExternalApi(request);
+
+            verify(mapper, times(2)).toFlight(responseDTO);
+            verify(objectMapper).getTypeFactory();
+            verify(objectMapper, never()).readValue(any(String.class), any(Class.class));
+        }
     }
 
     @Nested
@@ -153,9 +167,7 @@ class CrazySupplierServiceTest {
             assertEquals(expectedFlight.getAirLine(), result.getFirst().getAirLine());
 
             verify(mapper).toCrazySupplierRequestDTO(searchCriteria);
-            verify(objectMapper).writeValueAsString(requestDTO);
             verify(httpClient).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
-            verify(objectMapper).getTypeFactory();
             verify(mapper).toFlight(responseDTO);
         }
 
@@ -167,7 +179,6 @@ class CrazySupplierServiceTest {
             CrazySupplierFlightRequestDTO requestDTO = buildCrazySupplierFlightRequestDTO();
 
             when(mapper.toCrazySupplierRequestDTO(searchCriteria)).thenReturn(requestDTO);
-            mockRequestSerialisation(requestDTO);
             when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                     .thenThrow(new IOException("Network error"));
 
@@ -176,35 +187,112 @@ class CrazySupplierServiceTest {
             assertTrue(result.isEmpty(), "Expected an empty list when an IOException occurs");
 
             verify(mapper).toCrazySupplierRequestDTO(searchCriteria);
-            verify(objectMapper).writeValueAsString(requestDTO);
             verify(httpClient).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
-            verify(objectMapper, never()).getTypeFactory();
             verify(mapper, never()).toFlight(any());
         }
     }
 
+    @Nested
+    @DisplayName("searchFlightsAsync Tests")
+    class SearchFlightsAsyncTests {
+
+        private static final String STREAMED_RESPONSE_BODY = "[" +
+                "{\"carrier\":\"TestAir\",\"basePrice\":100.0,\"tax\":20.0,\"departureAirport\":\"JFK\"," +
+                "\"arrivalAirport\":\"LAX\",\"outboundDateTime\":\"2030-01-01T10:00:00Z\"," +
+                "\"inboundDateTime\":\"2030-01-01T15:00:00Z\"}," +
+                "{\"carrier\":\"OtherAir\",\"basePrice\":50.0,\"tax\":5.0,\"departureAirport\":\"JFK\"," +
+                "\"arrivalAirport\":\"LAX\",\"outboundDateTime\":\"2030-01-02T10:00:00Z\"," +
+                "\"inboundDateTime\":\"2030-01-02T15:00:00Z\",\"unknownField\":[1,2]}" +
+                "]";
+
+        private CrazySupplierService streamingService;
+
+        @BeforeEach
+        void setUp() {
+            streamingService = new CrazySupplierService(
+                    httpClient, new JacksonConfig().objectMapper(), new CrazySupplierMapper(), null, searchMetrics);
+            ReflectionTestUtils.setField(streamingService, "apiUrl", API_URL);
+            ReflectionTestUtils.setField(streamingService, "streamingEnabled", true);
+        }
+
+        @Test
+        @DisplayName("Should stream and map every element of the supplier response")
+        void success() throws Exception {
+            mockAsyncResponse(200, STREAMED_RESPONSE_BODY);
+
+            List<Flight> result = streamingService.searchFlightsAsync(buildFlightSearchCriteria()).join();
+
+            assertEquals(2, result.size());
+            assertEquals("TestAir", result.getFirst().getAirLine());
+            assertEquals(120.0, result.getFirst().getFare());
+            assertEquals(Instant.parse("2030-01-01T10:00:00Z"), result.getFirst().getDepartureTime());
+            assertEquals("OtherAir", result.get(1).getAirLine());
+            verify(httpClient).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+            verify(httpClient, never()).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        }
+
+        @Test
+        @DisplayName("Should map the same flights with the Blackbird module registered")
+        void blackbirdParsesIdentically() throws Exception {
+            CrazySupplierService blackbirdService = new CrazySupplierService(
+                    httpClient, new JacksonConfig(true).objectMapper(), new CrazySupplierMapper(), null, searchMetrics);
+            byte[] body = STREAMED_RESPONSE_BODY.getBytes(StandardCharsets.UTF_8);
+
+            assertEquals(streamingService.parseFlights(new ByteArrayInputStream(body)),
+                    blackbirdService.parseFlights(new ByteArrayInputStream(body)));
+        }
+
+        @Test
+        @DisplayName("Should return empty list when the supplier response is empty")
+        void emptyResponseReturnsEmptyList() {
+            mockAsyncResponse(200, EMPTY_RESPONSE_BODY);
+
+            assertTrue(streamingService.searchFlightsAsync(buildFlightSearchCriteria()).join().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should complete exceptionally when API returns non-200 status")
+        void non200StatusFails() {
+            mockAsyncResponse(500, ERROR_RESPONSE_BODY);
+
+            CompletionException exception = assertThrows(
+                    CompletionException.class,
+                    () -> streamingService.searchFlightsAsync(buildFlightSearchCriteria()).join()
+            );
+            assertTrue(exception.getCause().getMessage().contains("API call failed with status: 500"));
+        }
+
+        @Test
+        @DisplayName("Should complete exceptionally when the supplier does not return an array")
+        void nonArrayResponseFails() {
+            mockAsyncResponse(200, ERROR_RESPONSE_BODY);
+
+            assertThrows(CompletionException.class,
+                    () -> streamingService.searchFlightsAsync(buildFlightSearchCriteria()).join());
+        }
+
+        private void mockAsyncResponse(int statusCode, String body) {
+            HttpResponse<InputStream> mockResponse = mock(HttpResponse.class);
+            when(mockResponse.statusCode()).thenReturn(statusCode);
+            when(mockResponse.body()).thenReturn(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+            when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                    .thenReturn(CompletableFuture.completedFuture(mockResponse));
+        }
+    }
+
     private void mockSuccessfulApiCall(
             CrazySupplierFlightRequestDTO request,
             CrazySupplierFlightResponseDTO responseDTO,
             Flight expectedFlight) throws IOException, InterruptedException {
 
-        // Mock request serialization
-        mockRequestSerialisation(request);
-
         // Mock HTTP response
-        HttpResponse<String> mockResponse = mockResponseWithStatusCodeBody(200, MOCK_RESPONSE_BODY);
+        HttpResponse<String> mockResponse = mockResponseWithStatusCodeBody(200,
+                objectMapper.writeValueAsString(List.of(responseDTO)));
 
         // Mock HttpClient.send()
         when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(mockResponse);
 
-        // Mock TypeFactory chain
-        mockTypeFactory();
-
-        // Mock the readValue method
-        when(objectMapper.readValue(any(String.class), any(JavaType.class)))
-                .thenReturn(Collections.singletonList(responseDTO));
-
         // Mock mapping to Flight
         when(mapper.toFlight(responseDTO)).thenReturn(expectedFlight);
     }
@@ -216,14 +304,7 @@ class CrazySupplierServiceTest {
         return mockResponse;
     }
 
-    private void mockRequestSerialisation(CrazySupplierFlightRequestDTO request) throws JsonProcessingException {
-        when(objectMapper.writeValueAsString(request)).thenReturn(MOCK_REQUEST_BODY);
-    }
-
-    private void mockErrorApiCall(CrazySupplierFlightRequestDTO request) throws IOException, InterruptedException {
-        // Mock request serialization
-        mockRequestSerialisation(request);
-
+    private void mockErrorApiCall() throws IOException, InterruptedException {
         // Mock HTTP response with error status
         HttpResponse<String> mockResponse = mockResponseWithStatusCodeBody(500, ERROR_RESPONSE_BODY);
 
@@ -232,31 +313,13 @@ class CrazySupplierServiceTest {
                 .thenReturn(mockResponse);
     }
 
-    private void mockEmptyApiCall(CrazySupplierFlightRequestDTO request) throws IOException, InterruptedException {
-        // Mock request serialization
-        mockRequestSerialisation(request);
-
+    private void mockEmptyApiCall() throws IOException, InterruptedException {
         // Mock HTTP response with empty body
         HttpResponse<String> mockResponse = mockResponseWithStatusCodeBody(200, EMPTY_RESPONSE_BODY);
 
         // Mock HttpClient.send()
         when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(mockResponse);
-
-        // Mock TypeFactory chain
-        mockTypeFactory();
-
-        // Mock the readValue method to return empty list
-        when(objectMapper.readValue(any(String.class), any(JavaType.class)))
-                .thenReturn(Collections.emptyList());
-    }
-
-    private void mockTypeFactory() {
-        TypeFactory typeFactory = mock(TypeFactory.class);
-        when(objectMapper.getTypeFactory()).thenReturn(typeFactory);
-        CollectionType collectionType = mock(CollectionType.class);
-        when(typeFactory.constructCollectionType(List.class, CrazySupplierFlightResponseDTO.class))
-                .thenReturn(collectionType);
     }
 
     // Helper methods for building test data
@@ -0,0 +1,153 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.cache.FlightResponseCache;
+import com.flight.data.mgmt.config.JacksonConfig;
+import com.flight.data.mgmt.dto.FlightImportErrorDTO;
+import com.flight.data.mgmt.dto.FlightImportResultDTO;
+import com.flight.data.mgmt.mapper.FlightMapper;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightRepository;
+import com.flight.data.mgmt.repository.FlightRouteIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Writes through H2 with the shared EntityManager the services get in production, so a constraint violation surfaces
+ * at the flush exactly as it does there. Each batch commits on its own, as it does from the import and write-behind.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlightBatchWriterTest {
+
+    private static final Instant DEPARTURE = Instant.parse("2030-01-01T10:00:00Z");
+    private static final String TAKEN = "AA000101";
+    private static final String VALID = """
+            {"airline":"aa","supplier":"LocalDB","fare":120.5,"departureAirport":"lhr","destinationAirport":"JFK",\
+            "departureTime":"2030-01-01T10:00:00Z","arrivalTime":"2030-01-01T18:00:00Z"}""";
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final FlightRouteIndex flightRouteIndex = mock(FlightRouteIndex.class);
+    private final FlightResponseCache flightResponseCache = mock(FlightResponseCache.class);
+    private final FlightNumberAllocator flightNumberAllocator = mock(FlightNumberAllocator.class);
+
+    private FlightBatchWriter flightBatchWriter;
+
+    @BeforeEach
+    void setUp() {
+        flightRepository.save(flight(TAKEN));
+        flightBatchWriter = new FlightBatchWriter(flightRepository, entityManager, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should store the rest of a batch when one flight breaks a constraint at the flush")
+    void write_DuplicateFlightNumber() {
+        Flight duplicate = flight(TAKEN);
+        List<Flight> rejected = new ArrayList<>();
+
+        List<Flight> written = flightBatchWriter.write(List.of(flight("AA000100"), duplicate, flight("AA000102")),
+                flight -> flight, (flight, e) -> rejected.add(flight));
+
+        assertEquals(List.of("AA000100", "AA000102"), written.stream().map(Flight::getFlightNumber).toList());
+        assertEquals(List.of(duplicate), rejected);
+        assertEquals(3, flightRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should import the rest of a chunk and report the record that breaks a constraint")
+    void importFlights_DuplicateFlightNumber() throws IOException {
+        AtomicInteger sequence = new AtomicInteger(100);
+        when(flightNumberAllocator.nextFlightNumber(anyString()))
+                .thenAnswer(invocation -> "AA000" + sequence.getAndIncrement());
+        FlightImportService importService = new FlightImportService(new JacksonConfig().objectMapper(),
+                new FlightService(flightRepository, flightRouteIndex, new FlightMapper(), null, null,
+                        flightNumberAllocator, new SearchMetrics(new SimpleMeterRegistry()), flightResponseCache, null),
+                new FlightMapper(), flightNumberAllocator, flightBatchWriter, flightRouteIndex, flightResponseCache,
+                10, 1000);
+
+        FlightImportResultDTO result = importService.importFlights(stream(String.join("\n", VALID, VALID, VALID)));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        FlightImportErrorDTO error = result.getErrors().getFirst();
+        assertEquals(2L, error.getRecord());
+        assertTrue(error.getErrors().getFirst().startsWith("Write failed: "));
+        assertTrue(flightRepository.findByFlightNumber("AA000100").isPresent());
+        assertTrue(flightRepository.findByFlightNumber("AA000102").isPresent());
+        assertEquals(3, flightRepository.count());
+        verify(flightRouteIndex, times(2)).put(any(Flight.class));
+    }
+
+    @Test
+    @DisplayName("Should persist the acknowledged flights of a write-behind batch when one breaks a constraint")
+    void writeBehind_DuplicateFlightNumber() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FlightWriteBehind writeBehind = new FlightWriteBehind(flightBatchWriter, flightRouteIndex, flightResponseCache,
+                true, 10, 10, Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ofSeconds(10));
+        writeBehind.bindTo(registry);
+        writeBehind.start();
+
+        writeBehind.enqueue(flight("AA000100"));
+        writeBehind.enqueue(flight(TAKEN));
+        writeBehind.enqueue(flight("AA000102"));
+        writeBehind.stop();
+
+        assertTrue(flightRepository.findByFlightNumber("AA000100").isPresent());
+        assertTrue(flightRepository.findByFlightNumber("AA000102").isPresent());
+        assertEquals(3, flightRepository.count());
+        assertEquals(1, registry.get("flight.write-behind.flights").tag("outcome", "failed").functionCounter().count());
+        assertEquals(2, registry.get("flight.write-behind.flights").tag("outcome", "written").functionCounter().count());
+    }
+
+    private static Flight flight(String flightNumber) {
+        return Flight.builder()
+                .flightNumber(flightNumber)
+                .airLine("AA")
+                .supplier("LocalDB")
+                .fare(120.5)
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .departureTime(DEPARTURE)
+                .arrivalTime(DEPARTURE.plus(8, ChronoUnit.HOURS))
+                .build();
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,102 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.config.ErrorMessages;
+import com.flight.data.mgmt.config.JacksonConfig;
+import com.flight.data.mgmt.dto.FlightExportCriteriaDTO;
+import com.flight.data.mgmt.exception.FlightValidationException;
+import com.flight.data.mgmt.mapper.FlightMapper;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlightExportServiceTest {
+
+    private static final Instant DEPARTURE = Instant.parse("2030-01-01T10:00:00Z");
+    private static final Instant ARRIVAL = Instant.parse("2030-01-01T18:00:00Z");
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final FlightExportService exportService = new FlightExportService(flightRepository, new FlightMapper(),
+            entityManager, new JacksonConfig().objectMapper(), mock(PlatformTransactionManager.class), 250);
+
+    @Test
+    @DisplayName("Should write one JSON object per line and detach every streamed flight")
+    void export_Ndjson() {
+        Flight first = flight("BA100", "Local DB");
+        Flight second = flight("BA101", "Local DB");
+        when(flightRepository.streamFlights("LHR", "JFK", DEPARTURE, null, 250)).thenReturn(Stream.of(first, second));
+
+        String body = export(FlightExportCriteriaDTO.builder()
+                .departureAirport("lhr").destinationAirport("JFK").departureFrom(DEPARTURE).build(),
+                FlightExportService.Format.NDJSON);
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertTrue(lines[0].startsWith("{\"flightNumber\":\"BA100\""));
+        assertTrue(lines[1].contains("\"departureTime\":\"2030-01-01T10:00:00Z\""));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote only fields that need it")
+    void export_Csv() {
+        when(flightRepository.streamFlights(null, null, null, null, 250))
+                .thenReturn(Stream.of(flight("BA100", "Smith, \"Jones\"")));
+
+        String body = export(new FlightExportCriteriaDTO(), FlightExportService.Format.CSV);
+
+        assertEquals("""
+                flightNumber,airline,supplier,fare,departureAirport,destinationAirport,departureTime,arrivalTime
+                BA100,BA,"Smith, ""Jones\"\"\",99.5,LHR,JFK,2030-01-01T10:00:00Z,2030-01-01T18:00:00Z
+                """, body);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid airport codes, an inverted window and unknown formats")
+    void validate_RejectsInvalidCriteria() {
+        FlightValidationException exception = assertThrows(FlightValidationException.class,
+                () -> exportService.validate(FlightExportCriteriaDTO.builder()
+                        .departureAirport("L1R")
+                        .departureFrom(ARRIVAL)
+                        .departureTo(DEPARTURE)
+                        .build()));
+
+        assertEquals(List.of(ErrorMessages.INVALID_DEPARTURE_AIRPORT + "L1R", ErrorMessages.INVALID_EXPORT_WINDOW),
+                exception.getErrors());
+        assertThrows(FlightValidationException.class, () -> FlightExportService.Format.of("xml"));
+        assertEquals(FlightExportService.Format.CSV, FlightExportService.Format.of("csv"));
+    }
+
+    private String export(FlightExportCriteriaDTO criteria, FlightExportService.Format format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(criteria, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Flight flight(String flightNumber, String supplier) {
+        return Flight.builder()
+                .flightNumber(flightNumber)
+                .airLine("BA")
+                .supplier(supplier)
+                .fare(99.5)
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .departureTime(DEPARTURE)
+                .arrivalTime(ARRIVAL)
+                .build();
+    }
+}
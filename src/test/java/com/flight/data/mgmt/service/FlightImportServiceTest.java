@@ -0,0 +1,138 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.cache.FlightResponseCache;
+import com.flight.data.mgmt.config.ErrorMessages;
+import com.flight.data.mgmt.config.JacksonConfig;
+import com.flight.data.mgmt.dto.FlightImportErrorDTO;
+import com.flight.data.mgmt.dto.FlightImportResultDTO;
+import com.flight.data.mgmt.mapper.FlightMapper;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightRepository;
+import com.flight.data.mgmt.repository.FlightRouteIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlightImportServiceTest {
+
+    private static final String VALID = """
+            {"airline":"aa","supplier":"LocalDB","fare":120.5,"departureAirport":"lhr","destinationAirport":"JFK",\
+            "departureTime":"2030-01-01T10:00:00Z","arrivalTime":"2030-01-01T18:00:00Z"}""";
+    private static final String SAME_AIRPORTS = """
+            {"airline":"aa","supplier":"LocalDB","fare":120.5,"departureAirport":"JFK","destinationAirport":"JFK",\
+            "departureTime":"2030-01-01T10:00:00Z","arrivalTime":"2030-01-01T18:00:00Z"}""";
+    private static final String WRONG_TYPE = """
+            {"airline":"aa","supplier":"LocalDB","fare":"cheap","departureAirport":"LHR","destinationAirport":"JFK"}""";
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final FlightRouteIndex flightRouteIndex = mock(FlightRouteIndex.class);
+    private final FlightResponseCache flightResponseCache = mock(FlightResponseCache.class);
+    private final FlightNumberAllocator flightNumberAllocator = mock(FlightNumberAllocator.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @BeforeEach
+    void setUp() {
+        AtomicInteger sequence = new AtomicInteger(100);
+        when(flightNumberAllocator.nextFlightNumber(anyString()))
+                .thenAnswer(invocation -> "AA" + sequence.getAndIncrement());
+    }
+
+    @Test
+    @DisplayName("Should import valid NDJSON records in chunks and report invalid ones by position")
+    void importFlights_Ndjson() throws IOException {
+        String body = String.join("\n", VALID, SAME_AIRPORTS, WRONG_TYPE, VALID, VALID);
+
+        FlightImportResultDTO result = createImportService(2).importFlights(stream(body));
+
+        assertEquals(5, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(2L, 3L), result.getErrors().stream().map(FlightImportErrorDTO::getRecord).toList());
+        assertEquals(List.of(ErrorMessages.SAME_AIRPORTS), result.getErrors().getFirst().getErrors());
+        assertFalse(result.isErrorsTruncated());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Flight>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(flightRepository, times(2)).saveAllAndFlush(chunks.capture());
+        assertEquals(List.of(2, 1), chunks.getAllValues().stream().map(List::size).toList());
+        Flight first = chunks.getAllValues().getFirst().getFirst();
+        assertEquals("LHR", first.getDepartureAirport());
+        assertEquals("AA100", first.getFlightNumber());
+        verify(entityManager, times(2)).clear();
+        verify(flightRouteIndex, times(3)).put(any(Flight.class));
+        verify(flightResponseCache, times(2)).invalidate(anyList());
+    }
+
+    @Test
+    @DisplayName("Should accept the elements of a JSON array")
+    void importFlights_JsonArray() throws IOException {
+        String body = "[" + VALID + "," + VALID + "]";
+
+        FlightImportResultDTO result = createImportService(100).importFlights(stream(body));
+
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getRejected());
+        verify(flightRepository).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    @DisplayName("Should stop at malformed JSON but keep the records read before it")
+    void importFlights_MalformedJsonStops() throws IOException {
+        String body = VALID + "\n{\"airline\":\"aa\",,}\n" + VALID;
+
+        FlightImportResultDTO result = createImportService(100).importFlights(stream(body));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(2L, result.getErrors().getFirst().getRecord());
+        assertTrue(result.getErrors().getFirst().getErrors().getFirst().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    @DisplayName("Should cap the number of listed errors while still counting every rejection")
+    void importFlights_TruncatesErrors() throws IOException {
+        String body = String.join("\n", SAME_AIRPORTS, SAME_AIRPORTS, SAME_AIRPORTS);
+
+        FlightImportResultDTO result = new FlightImportService(new JacksonConfig().objectMapper(), createFlightService(),
+                new FlightMapper(), flightNumberAllocator, createBatchWriter(), flightRouteIndex, flightResponseCache, 10, 2)
+                .importFlights(stream(body));
+
+        assertEquals(3, result.getRejected());
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.isErrorsTruncated());
+        verify(flightRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    private FlightImportService createImportService(int chunkSize) {
+        return new FlightImportService(new JacksonConfig().objectMapper(), createFlightService(), new FlightMapper(),
+                flightNumberAllocator, createBatchWriter(), flightRouteIndex, flightResponseCache, chunkSize, 1000);
+    }
+
+    private FlightBatchWriter createBatchWriter() {
+        return new FlightBatchWriter(flightRepository, entityManager, transactionManager);
+    }
+
+    private FlightService createFlightService() {
+        return new FlightService(flightRepository, flightRouteIndex, new FlightMapper(), null, null, flightNumberAllocator,
+                new SearchMetrics(new SimpleMeterRegistry()), flightResponseCache, null);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,164 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.model.FlightNumberSequence;
+import com.flight.data.mgmt.repository.FlightNumberSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class FlightNumberAllocatorTest {
+
+    private final FlightNumberSequenceRepository sequenceRepository = mock(FlightNumberSequenceRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    // Stands in for the flight_number_sequences table; each lease transaction holds its row lock until it ends
+    private final Map<String, FlightNumberSequence> table = new HashMap<>();
+    private final ReentrantLock rowLock = new ReentrantLock();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            rowLock.lock();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).commit(any());
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).rollback(any());
+        when(sequenceRepository.findForUpdate(anyString())).thenAnswer(invocation -> {
+            synchronized (table) {
+                return Optional.ofNullable(table.get(invocation.<String>getArgument(0)));
+            }
+        });
+        when(sequenceRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            FlightNumberSequence sequence = invocation.getArgument(0);
+            synchronized (table) {
+                table.put(sequence.getAirLine(), sequence);
+            }
+            return sequence;
+        });
+    }
+
+    @Test
+    @DisplayName("Should serve numbers from memory and lease a new block only when one runs out")
+    void nextFlightNumber_LeasesBlocks() {
+        FlightNumberAllocator allocator = new FlightNumberAllocator(sequenceRepository, transactionManager, 3);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            numbers.add(allocator.nextFlightNumber("aa"));
+        }
+
+        assertEquals(List.of("AA000100", "AA000101", "AA000102", "AA000103"), numbers);
+        verify(sequenceRepository, times(2)).saveAndFlush(any());
+        assertEquals(106, table.get("AA").getNextValue());
+    }
+
+    @Test
+    @DisplayName("Should keep a separate sequence per airline")
+    void nextFlightNumber_PerAirline() {
+        FlightNumberAllocator allocator = new FlightNumberAllocator(sequenceRepository, transactionManager, 10);
+
+        assertEquals("AA000100", allocator.nextFlightNumber("AA"));
+        assertEquals("BA000100", allocator.nextFlightNumber("BA"));
+        assertEquals("AA000101", allocator.nextFlightNumber(" aa "));
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same number from two instances sharing the sequence table")
+    void nextFlightNumber_UniqueAcrossInstances() throws Exception {
+        FlightNumberAllocator first = new FlightNumberAllocator(sequenceRepository, transactionManager, 7);
+        FlightNumberAllocator second = new FlightNumberAllocator(sequenceRepository, transactionManager, 7);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                FlightNumberAllocator allocator = t % 2 == 0 ? first : second;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        assertTrue(numbers.add(allocator.nextFlightNumber("AA")));
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        assertEquals(2000, numbers.size());
+    }
+
+    @Test
+    @DisplayName("Should retry the lease when another instance created the sequence row first")
+    void nextFlightNumber_RetriesConcurrentCreate() {
+        table.put("AA", FlightNumberSequence.builder().airLine("AA").nextValue(500).version(0L).build());
+        doReturn(Optional.empty())
+                .doAnswer(invocation -> Optional.of(table.get("AA")))
+                .when(sequenceRepository).findForUpdate("AA");
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .doAnswer(invocation -> invocation.getArgument(0))
+                .when(sequenceRepository).saveAndFlush(any());
+        FlightNumberAllocator allocator = new FlightNumberAllocator(sequenceRepository, transactionManager, 10);
+
+        assertEquals("AA000500", allocator.nextFlightNumber("AA"));
+        assertEquals(510, table.get("AA").getNextValue());
+    }
+
+    @Test
+    @DisplayName("Should not collide when one airline code is another plus a leading digit of the number")
+    void nextFlightNumber_PrefixAirlinesDoNotCollide() {
+        table.put("A", FlightNumberSequence.builder().airLine("A").nextValue(1100).version(0L).build());
+        FlightNumberAllocator allocator = new FlightNumberAllocator(sequenceRepository, transactionManager, 10);
+
+        String shortCode = allocator.nextFlightNumber("A");
+        String longCode = allocator.nextFlightNumber("A1");
+
+        assertEquals("A001100", shortCode);
+        assertEquals("A1000100", longCode);
+        assertNotEquals(shortCode, longCode);
+    }
+
+    @Test
+    @DisplayName("Should fail rather than widen the number once an airline's range is exhausted")
+    void nextFlightNumber_ExhaustedRange() {
+        table.put("AA", FlightNumberSequence.builder().airLine("AA").nextValue(999_999).version(0L).build());
+        FlightNumberAllocator allocator = new FlightNumberAllocator(sequenceRepository, transactionManager, 10);
+
+        assertEquals("AA999999", allocator.nextFlightNumber("AA"));
+        assertThrows(IllegalStateException.class, () -> allocator.nextFlightNumber("AA"));
+    }
+
+    @Test
+    @DisplayName("Should reject a missing airline code")
+    void nextFlightNumber_BlankAirline() {
+        FlightNumberAllocator allocator = new FlightNumberAllocator(sequenceRepository, transactionManager, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> allocator.nextFlightNumber(" "));
+        assertThrows(IllegalArgumentException.class, () -> allocator.nextFlightNumber(null));
+    }
+}
@@ -1,27 +1,54 @@
 package com.flight.data.mgmt.service;
 
+import com.flight.data.mgmt.cache.FlightResponseCache;
 import com.flight.data.mgmt.config.ErrorMessages;
+import com.flight.data.mgmt.dto.FlightPageDTO;
 import com.flight.data.mgmt.dto.FlightRequestDTO;
 import com.flight.data.mgmt.dto.FlightResponseDTO;
+import com.flight.data.mgmt.dto.FlightSearchBatchDTO;
 import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.dto.FlightSearchResultDTO;
+import com.flight.data.mgmt.dto.FlightSearchSummaryDTO;
+import com.flight.data.mgmt.dto.FlightView;
 import com.flight.data.mgmt.exception.FlightValidationException;
 import com.flight.data.mgmt.mapper.FlightMapper;
+import com.flight.data.mgmt.metrics.SearchMetrics;
 import com.flight.data.mgmt.model.Flight;
 import com.flight.data.mgmt.repository.FlightRepository;
+import com.flight.data.mgmt.repository.FlightRouteIndex;
+import com.flight.data.mgmt.supplier.SupplierSearchEngine;
+import com.flight.data.mgmt.supplier.SupplierSearchResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,12 +60,32 @@ public class FlightServiceTest {
     @Mock
     private FlightRepository flightRepository;
 
+    @Mock
+    private FlightRouteIndex flightRouteIndex;
+
     @Mock
     private FlightMapper flightMapper;
 
+    @Mock
+    private SupplierSearchEngine supplierSearchEngine;
+
+    @Mock
+    private FlightNumberAllocator flightNumberAllocator;
+
+    @Spy
+    private SearchMetrics searchMetrics = new SearchMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    private FlightResponseCache flightResponseCache;
+
+    @Mock
+    private FlightWriteBehind flightWriteBehind;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(flightService, "defaultPageSize", 100);
+        ReflectionTestUtils.setField(flightService, "maxPageSize", 1000);
     }
     
     private final String departureAirport = "LAX";
@@ -98,29 +145,280 @@ public class FlightServiceTest {
     @Test
     @DisplayName("Should return flights for the given route")
     void searchByRoute_Success() {
-        Flight flight = Flight.builder()
+        FlightView flight = view(Flight.builder()
                 .departureAirport(departureAirport)
                 .destinationAirport(destinationAirport)
-                .build();
+                .build());
 
         FlightResponseDTO expectedDTO = FlightResponseDTO.builder()
                 .departureAirport(departureAirport)
                 .destinationAirport(destinationAirport)
                 .build();
 
-        when(flightRepository.findByRoute(departureAirport, destinationAirport))
+        when(flightRepository.findRoutePage(departureAirport, destinationAirport, Limit.of(101)))
                 .thenReturn(Arrays.asList(flight));
 
         when(flightMapper.toFlightResponseDTO(flight))
                 .thenReturn(expectedDTO);
 
-        List<FlightResponseDTO> result = flightService.searchByRoute(departureAirport, destinationAirport);
-        verify(flightRepository).findByRoute(departureAirport, destinationAirport);
+        FlightPageDTO result = flightService.searchByRoute(departureAirport, destinationAirport, null, null);
+        verify(flightRepository).findRoutePage(departureAirport, destinationAirport, Limit.of(101));
         verify(flightMapper).toFlightResponseDTO(flight);
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(departureAirport, result.getFirst().getDepartureAirport());
-        assertEquals(destinationAirport, result.getFirst().getDestinationAirport());
+        assertEquals(1, result.getFlights().size());
+        assertNull(result.getNextPageToken());
+        assertEquals(departureAirport, result.getFlights().getFirst().getDepartureAirport());
+        assertEquals(destinationAirport, result.getFlights().getFirst().getDestinationAirport());
+    }
+
+    @Test
+    @DisplayName("Should return a continuation token when more flights follow and resume after it")
+    void searchByRoute_KeysetPagination() {
+        Flight first = createExistingFlight("AA100");
+        Flight second = createExistingFlight("AA101");
+        second.setId(2L);
+        when(flightRepository.findRoutePage(departureAirport, destinationAirport, Limit.of(2)))
+                .thenReturn(List.of(view(first), view(second)));
+        when(flightMapper.toFlightResponseDTO(any(FlightView.class))).thenReturn(new FlightResponseDTO());
+
+        FlightPageDTO page = flightService.searchByRoute(departureAirport, destinationAirport, 1, null);
+
+        assertEquals(1, page.getFlights().size());
+        assertNotNull(page.getNextPageToken());
+
+        flightService.searchByRoute(departureAirport, destinationAirport, 1, page.getNextPageToken());
+
+        verify(flightRepository).findRoutePageAfter(departureAirport, destinationAirport,
+                first.getDepartureTime(), first.getId(), Limit.of(2));
+    }
+
+    @Test
+    @DisplayName("Should use the bounded or open-ended departure query and start later pages at the cursor")
+    void searchByDepartureAndDestination_SelectsSargableQuery() {
+        Instant from = Instant.parse("2030-01-01T00:00:00Z");
+        Instant to = from.plus(1, ChronoUnit.DAYS);
+        Flight first = createExistingFlight("AA100");
+        first.setDepartureTime(from.plus(2, ChronoUnit.HOURS));
+        Flight second = createExistingFlight("AA101");
+        second.setId(2L);
+        when(flightRepository.findDeparturePageBetween(departureAirport, from, to, Limit.of(2)))
+                .thenReturn(List.of(view(first), view(second)));
+
+        FlightPageDTO page = flightService.searchByDepartureAndDestination("lax", from, to, 1, null);
+        flightService.searchByDepartureAndDestination(departureAirport, from, to, 1, page.getNextPageToken());
+        flightService.searchByDepartureAndDestination(departureAirport, from, null, 1, null);
+
+        verify(flightRepository).findDeparturePageBetweenAfter(departureAirport, first.getDepartureTime(), to,
+                first.getDepartureTime(), first.getId(), Limit.of(2));
+        verify(flightRepository).findDeparturePageFrom(departureAirport, from, Limit.of(2));
+        FlightValidationException exception = assertThrows(FlightValidationException.class,
+                () -> flightService.searchByDepartureAndDestination(departureAirport, null, to, null, null));
+        assertTrue(exception.getErrors().contains(ErrorMessages.MISSING_DEPARTURE_TIME));
+    }
+
+    @Test
+    @DisplayName("Should reject an out of range page size and a tampered page token")
+    void searchByRoute_InvalidPagination_ThrowsException() {
+        FlightValidationException pageSize = assertThrows(FlightValidationException.class,
+                () -> flightService.searchByRoute(departureAirport, destinationAirport, 0, null));
+        assertTrue(pageSize.getErrors().contains(ErrorMessages.INVALID_PAGE_SIZE + 1000));
+
+        FlightValidationException pageToken = assertThrows(FlightValidationException.class,
+                () -> flightService.searchByRoute(departureAirport, destinationAirport, null, "not-a-token"));
+        assertTrue(pageToken.getErrors().contains(ErrorMessages.INVALID_PAGE_TOKEN));
+    }
+
+    @Test
+    @DisplayName("Should look up lower case airport codes in their stored upper case form")
+    void searchByRoute_NormalizesAirportCodes() {
+        when(flightRepository.findRoutePage(departureAirport, destinationAirport, Limit.of(101))).thenReturn(List.of());
+
+        flightService.searchByRoute("lax", "bLr", null, null);
+
+        verify(flightRepository).findRoutePage(departureAirport, destinationAirport, Limit.of(101));
+    }
+
+    @Test
+    @DisplayName("Should reject the same airport regardless of case")
+    void validateSearchParamSameAirportDifferentCase_ThrowsException() {
+        Instant now = Instant.now();
+
+        FlightValidationException exception = assertThrows(
+                FlightValidationException.class,
+                () -> flightService.validateSearchParam(
+                        FlightSearchCriteriaDTO.builder().departureAirport("lax")
+                                .destinationAirport(departureAirport)
+                                .outboundDate(now.plus(1, ChronoUnit.DAYS))
+                                .inboundDate(now.plus(2, ChronoUnit.DAYS))
+                                .build()
+                ));
+        assertTrue(exception.getErrors().contains("Departure and destination airports cannot be the same"));
+    }
+
+    @Test
+    @DisplayName("Should aggregate local and supplier flights when both answer before the deadline")
+    void searchFlights_AggregatesSources() {
+        FlightSearchCriteriaDTO criteria = createValidSearchCriteria();
+        Flight localFlight = createExistingFlight("AA123");
+        Flight supplierFlight = createUpdatedFlight("CS456");
+
+        when(flightRepository.findRouteViews(departureAirport, destinationAirport,
+                criteria.getOutboundDate(), criteria.getInboundDate()))
+                .thenReturn(List.of(view(localFlight)));
+        when(supplierSearchEngine.search(criteria, Duration.ofSeconds(2)))
+                .thenReturn(CompletableFuture.completedFuture(new SupplierSearchResult(List.of(supplierFlight), true)));
+        when(flightMapper.toFlightResponseDTO(any(FlightView.class))).thenReturn(new FlightResponseDTO());
+        when(flightMapper.toFlightResponseDTO(any(Flight.class))).thenReturn(new FlightResponseDTO());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            FlightSearchResultDTO result = createSearchService(executor, Duration.ofSeconds(2)).searchFlights(criteria);
+
+            assertFalse(result.isPartial());
+            assertEquals(2, result.getFlights().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should cancel the supplier search when the local lookup fails")
+    void searchFlights_LocalFailureCancelsSupplierSearch() {
+        FlightSearchCriteriaDTO criteria = createValidSearchCriteria();
+        CompletableFuture<SupplierSearchResult> supplierSearch = new CompletableFuture<>();
+
+        when(flightRepository.findRouteViews(departureAirport, destinationAirport,
+                criteria.getOutboundDate(), criteria.getInboundDate()))
+                .thenThrow(new IllegalStateException("database down"));
+        when(supplierSearchEngine.search(criteria, Duration.ofSeconds(2))).thenReturn(supplierSearch);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            FlightService service = createSearchService(executor, Duration.ofSeconds(2));
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> service.searchFlights(criteria));
+            assertEquals("database down", exception.getMessage());
+            assertTrue(supplierSearch.isCancelled());
+        }
+    }
+
+    @Test
+    @DisplayName("Should return local flights flagged as partial when a supplier misses the deadline")
+    void searchFlights_SupplierTimeoutReturnsPartial() {
+        FlightSearchCriteriaDTO criteria = createValidSearchCriteria();
+        Flight localFlight = createExistingFlight("AA123");
+        FlightResponseDTO localDTO = FlightResponseDTO.builder().flightNumber("AA123").build();
+
+        when(flightRepository.findRouteViews(departureAirport, destinationAirport,
+                criteria.getOutboundDate(), criteria.getInboundDate()))
+                .thenReturn(List.of(view(localFlight)));
+        when(supplierSearchEngine.search(criteria, Duration.ofMillis(200)))
+                .thenReturn(CompletableFuture.completedFuture(new SupplierSearchResult(List.of(), false)));
+        when(flightMapper.toFlightResponseDTO(view(localFlight))).thenReturn(localDTO);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            FlightSearchResultDTO result = createSearchService(executor, Duration.ofMillis(200)).searchFlights(criteria);
+
+            assertTrue(result.isPartial());
+            assertEquals(List.of(localDTO), result.getFlights());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream local flights before the supplier answers, then each supplier's, then one summary")
+    void streamFlights_EmitsSourcesAsTheyComplete() throws InterruptedException {
+        FlightSearchCriteriaDTO criteria = createValidSearchCriteria();
+        Flight localFlight = createExistingFlight("AA123");
+        Flight supplierFlight = createUpdatedFlight("CS456");
+        FlightResponseDTO localDTO = FlightResponseDTO.builder().flightNumber("AA123").build();
+        FlightResponseDTO supplierDTO = FlightResponseDTO.builder().flightNumber("CS456").build();
+        CompletableFuture<SupplierSearchResult> supplierSearch = new CompletableFuture<>();
+        AtomicReference<BiConsumer<String, List<Flight>>> onAnswer = new AtomicReference<>();
+
+        when(flightRepository.findRouteViews(departureAirport, destinationAirport,
+                criteria.getOutboundDate(), criteria.getInboundDate()))
+                .thenReturn(List.of(view(localFlight)));
+        when(supplierSearchEngine.search(eq(criteria), eq(Duration.ofSeconds(2)), any())).thenAnswer(invocation -> {
+            onAnswer.set(invocation.getArgument(2));
+            return supplierSearch;
+        });
+        when(flightMapper.toFlightResponseDTO(view(localFlight))).thenReturn(localDTO);
+        when(flightMapper.toFlightResponseDTO(supplierFlight)).thenReturn(supplierDTO);
+        BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            createSearchService(executor, Duration.ofSeconds(2)).streamFlights(criteria, new FlightSearchListener() {
+                @Override
+                public void onFlights(FlightSearchBatchDTO batch) {
+                    events.add(batch);
+                }
+
+                @Override
+                public void onComplete(FlightSearchSummaryDTO summary) {
+                    events.add(summary);
+                }
+            });
+
+            FlightSearchBatchDTO local = (FlightSearchBatchDTO) events.poll(2, TimeUnit.SECONDS);
+            assertEquals("local", local.getSource());
+            assertEquals(List.of(localDTO), local.getFlights());
+
+            onAnswer.get().accept("crazy-supplier", List.of(supplierFlight));
+            supplierSearch.complete(new SupplierSearchResult(List.of(supplierFlight), true));
+            onAnswer.get().accept("late-supplier", List.of(supplierFlight));
+
+            FlightSearchBatchDTO supplier = (FlightSearchBatchDTO) events.poll(2, TimeUnit.SECONDS);
+            assertEquals("crazy-supplier", supplier.getSource());
+            assertEquals(List.of(supplierDTO), supplier.getFlights());
+            FlightSearchSummaryDTO summary = (FlightSearchSummaryDTO) events.poll(2, TimeUnit.SECONDS);
+            assertFalse(summary.isPartial());
+            assertEquals(2, summary.getFlights());
+            assertNull(events.poll(100, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid streaming searches before contacting any source")
+    void streamFlights_ValidatesFirst() {
+        FlightSearchCriteriaDTO criteria = createValidSearchCriteria();
+        criteria.setDestinationAirport(departureAirport);
+
+        assertThrows(FlightValidationException.class,
+                () -> flightService.streamFlights(criteria, mock(FlightSearchListener.class)));
+        verify(supplierSearchEngine, never()).search(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should assign an allocated flight number without probing the flights table")
+    void createFlight_UsesAllocatedFlightNumber() {
+        FlightRequestDTO requestDTO = createValidFlightRequestDTO();
+        Flight flight = createUpdatedFlight(null);
+
+        when(flightMapper.toFlightDto(requestDTO)).thenReturn(flight);
+        when(flightNumberAllocator.nextFlightNumber(flight.getAirLine())).thenReturn("AA100");
+
+        flightService.createFlight(requestDTO);
+
+        assertEquals("AA100", flight.getFlightNumber());
+        verify(flightRepository).save(flight);
+        verify(flightRepository, never()).findByFlightNumber(any());
+        verify(flightRouteIndex).put(flight);
+        verify(flightResponseCache).invalidate(List.of(flight));
+    }
+
+    @Test
+    @DisplayName("Should queue the flight instead of saving it in write-behind mode")
+    void createFlight_WriteBehindQueuesFlight() {
+        FlightRequestDTO requestDTO = createValidFlightRequestDTO();
+        Flight flight = createUpdatedFlight(null);
+
+        when(flightWriteBehind.isEnabled()).thenReturn(true);
+        when(flightMapper.toFlightDto(requestDTO)).thenReturn(flight);
+        when(flightNumberAllocator.nextFlightNumber(flight.getAirLine())).thenReturn("AA100");
+
+        flightService.createFlight(requestDTO);
+
+        assertEquals("AA100", flight.getFlightNumber());
+        verify(flightWriteBehind).enqueue(flight);
+        verify(flightRepository, never()).save(any());
+        verify(flightRouteIndex, never()).put(any());
     }
 
     @Test
@@ -144,6 +442,8 @@ public class FlightServiceTest {
         verify(flightRepository).findByFlightNumber(flightNumber);
         verify(flightMapper).toFlightDto(requestDTO);
         verify(flightRepository).save(updatedFlight);
+        verify(flightRouteIndex).put(updatedFlight);
+        verify(flightResponseCache).invalidate(List.of(existingFlight, updatedFlight));
     }
 
     @Test
@@ -176,6 +476,8 @@ public class FlightServiceTest {
 
         verify(flightRepository).findByFlightNumber(flightNumber);
         verify(flightRepository).delete(existingFlight);
+        verify(flightRouteIndex).remove(existingFlight);
+        verify(flightResponseCache).invalidate(List.of(existingFlight));
     }
 
     @Test
@@ -192,6 +494,26 @@ public class FlightServiceTest {
         assertTrue(exception.getErrors().contains(ErrorMessages.FLIGHT_NOT_FOUND_WITH_NUMBER + flightNumber));
     }
 
+    private FlightService createSearchService(ExecutorService executor, Duration timeout) {
+        FlightService service = new FlightService(flightRepository, flightRouteIndex, flightMapper, executor,
+                supplierSearchEngine, flightNumberAllocator, searchMetrics, flightResponseCache, flightWriteBehind);
+        ReflectionTestUtils.setField(service, "searchTimeout", timeout);
+        return service;
+    }
+
+    private static FlightView view(Flight flight) {
+        return new FlightMapper().toFlightView(flight);
+    }
+
+    private FlightSearchCriteriaDTO createValidSearchCriteria() {
+        return FlightSearchCriteriaDTO.builder()
+                .departureAirport(departureAirport)
+                .destinationAirport(destinationAirport)
+                .outboundDate(Instant.now().plus(1, ChronoUnit.DAYS))
+                .inboundDate(Instant.now().plus(2, ChronoUnit.DAYS))
+                .build();
+    }
+
     private FlightRequestDTO createValidFlightRequestDTO() {
         return FlightRequestDTO.builder()
                 .airline("AA")
@@ -0,0 +1,114 @@
+package com.flight.data.mgmt.service;
+
+import com.flight.data.mgmt.cache.FlightResponseCache;
+import com.flight.data.mgmt.config.ErrorMessages;
+import com.flight.data.mgmt.exception.FlightWriteRejectedException;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.repository.FlightRepository;
+import com.flight.data.mgmt.repository.FlightRouteIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlightWriteBehindTest {
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final FlightRouteIndex flightRouteIndex = mock(FlightRouteIndex.class);
+    private final FlightResponseCache flightResponseCache = mock(FlightResponseCache.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private FlightWriteBehind writeBehind;
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.stop();
+    }
+
+    @Test
+    @DisplayName("Should write every queued flight in batches no larger than the batch size before stopping")
+    void stop_DrainsQueuedFlights() {
+        writeBehind = createWriteBehind(100, 2);
+        writeBehind.start();
+
+        for (int i = 0; i < 5; i++) {
+            writeBehind.enqueue(flight("AA" + (100 + i)));
+        }
+        writeBehind.stop();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Flight>> batches = ArgumentCaptor.forClass(List.class);
+        verify(flightRepository, atLeastOnce()).saveAllAndFlush(batches.capture());
+        assertEquals(5, batches.getAllValues().stream().mapToInt(List::size).sum());
+        assertTrue(batches.getAllValues().stream().allMatch(batch -> batch.size() <= 2));
+        verify(flightRouteIndex, times(5)).put(any(Flight.class));
+        verify(flightResponseCache, atLeastOnce()).invalidate(anyList());
+        assertFalse(writeBehind.isRunning());
+    }
+
+    @Test
+    @DisplayName("Should reject a flight when the queue stays full for the offer timeout")
+    void enqueue_RejectsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(flightRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        writeBehind = createWriteBehind(1, 10);
+        writeBehind.start();
+
+        writeBehind.enqueue(flight("AA100"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        writeBehind.enqueue(flight("AA101"));
+
+        FlightWriteRejectedException exception = assertThrows(FlightWriteRejectedException.class,
+                () -> writeBehind.enqueue(flight("AA102")));
+        assertEquals(ErrorMessages.WRITE_BEHIND_QUEUE_FULL, exception.getMessage());
+
+        release.countDown();
+        writeBehind.stop();
+        verify(flightRouteIndex, times(2)).put(any(Flight.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse new flights once stopped")
+    void enqueue_RejectsAfterStop() {
+        writeBehind = createWriteBehind(10, 10);
+        writeBehind.start();
+        writeBehind.stop();
+
+        FlightWriteRejectedException exception = assertThrows(FlightWriteRejectedException.class,
+                () -> writeBehind.enqueue(flight("AA100")));
+        assertEquals(ErrorMessages.WRITE_BEHIND_STOPPED, exception.getMessage());
+    }
+
+    private FlightWriteBehind createWriteBehind(int queueCapacity, int batchSize) {
+        return new FlightWriteBehind(new FlightBatchWriter(flightRepository, entityManager, transactionManager),
+                flightRouteIndex, flightResponseCache, true, queueCapacity, batchSize, Duration.ofMillis(20),
+                Duration.ofMillis(10), Duration.ofSeconds(10));
+    }
+
+    private static Flight flight(String flightNumber) {
+        return Flight.builder()
+                .flightNumber(flightNumber)
+                .airLine("AA")
+                .supplier("LocalDB")
+                .fare(120.5)
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .build();
+    }
+}
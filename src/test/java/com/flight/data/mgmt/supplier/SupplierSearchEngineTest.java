@@ -0,0 +1,216 @@
+package com.flight.data.mgmt.supplier;
+
+import com.flight.data.mgmt.cache.TtlCache;
+import com.flight.data.mgmt.config.SupplierProperties;
+import com.flight.data.mgmt.dto.FlightSearchCriteriaDTO;
+import com.flight.data.mgmt.metrics.SearchMetrics;
+import com.flight.data.mgmt.model.Flight;
+import com.flight.data.mgmt.resilience.CallNotPermittedException;
+import com.flight.data.mgmt.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SupplierSearchEngineTest {
+
+    private final FlightSearchCriteriaDTO criteria = FlightSearchCriteriaDTO.builder()
+            .departureAirport("LHR")
+            .destinationAirport("JFK")
+            .outboundDate(Instant.now().plus(1, ChronoUnit.DAYS))
+            .inboundDate(Instant.now().plus(2, ChronoUnit.DAYS))
+            .build();
+
+    @Test
+    @DisplayName("Should merge the flights of every supplier that answers in time")
+    void mergesAllSuppliers() {
+        SupplierSearchEngine engine = engine(new SupplierProperties(),
+                new StubSupplier("alpha", CompletableFuture.completedFuture(List.of(flight("alpha")))),
+                new StubSupplier("beta", CompletableFuture.completedFuture(List.of(flight("beta"), flight("beta")))));
+
+        SupplierSearchResult result = engine.search(criteria, Duration.ofSeconds(1)).join();
+
+        assertTrue(result.complete());
+        assertEquals(3, result.flights().size());
+    }
+
+    @Test
+    @DisplayName("Should drop a supplier that misses its timeout without waiting for it")
+    void dropsSlowSupplier() {
+        SupplierProperties properties = new SupplierProperties();
+        properties.getInstances().put("slow", SupplierProperties.Settings.builder().timeout(Duration.ofMillis(50)).build());
+        SupplierSearchEngine engine = engine(properties,
+                new StubSupplier("fast", CompletableFuture.completedFuture(List.of(flight("fast")))),
+                new StubSupplier("slow", new CompletableFuture<>()));
+
+        long start = System.nanoTime();
+        SupplierSearchResult result = engine.search(criteria, Duration.ofSeconds(5)).join();
+
+        assertFalse(result.complete());
+        assertEquals(List.of("fast"), result.flights().stream().map(Flight::getSupplier).toList());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    @DisplayName("Should stop at the overall budget even when a supplier timeout is longer")
+    void stopsAtBudget() {
+        SupplierSearchEngine engine = engine(new SupplierProperties(),
+                new StubSupplier("hanging", new CompletableFuture<>()));
+
+        SupplierSearchResult result = engine.search(criteria, Duration.ofMillis(50)).join();
+
+        assertFalse(result.complete());
+        assertTrue(result.flights().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should skip disabled suppliers")
+    void skipsDisabledSuppliers() {
+        SupplierProperties properties = new SupplierProperties();
+        properties.getInstances().put("disabled", SupplierProperties.Settings.builder().enabled(false).build());
+        StubSupplier disabled = new StubSupplier("disabled", CompletableFuture.completedFuture(List.of(flight("disabled"))));
+        SupplierSearchEngine engine = engine(properties, disabled);
+
+        SupplierSearchResult result = engine.search(criteria, Duration.ofSeconds(1)).join();
+
+        assertTrue(result.complete());
+        assertTrue(result.flights().isEmpty());
+        assertEquals(0, disabled.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the supplier concurrency cap")
+    void rejectsBeyondConcurrencyCap() {
+        SupplierProperties properties = new SupplierProperties();
+        properties.getInstances().put("capped", SupplierProperties.Settings.builder().maxConcurrentCalls(1).build());
+        StubSupplier capped = new StubSupplier("capped", new CompletableFuture<>());
+        FlightSupplierRegistry registry = new FlightSupplierRegistry(List.of(capped), properties);
+        FlightSupplierRegistry.RegisteredSupplier registered = registry.getEnabledSuppliers().getFirst();
+
+        registered.searchFlights(criteria);
+        CompletableFuture<List<Flight>> rejected = registered.searchFlights(criteria);
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(1, capped.calls.get());
+        assertEquals(1, registered.getBulkhead().getRejectedCalls());
+    }
+
+    @Test
+    @DisplayName("Should keep the bulkhead permit of a timed-out call until the supplier call itself ends")
+    void timedOutCallKeepsPermit() {
+        SupplierProperties properties = new SupplierProperties();
+        properties.getInstances().put("slow", SupplierProperties.Settings.builder()
+                .maxConcurrentCalls(1)
+                .timeout(Duration.ofMillis(50))
+                .build());
+        CompletableFuture<List<Flight>> upstream = new CompletableFuture<>();
+        StubSupplier slow = new StubSupplier("slow", upstream);
+        FlightSupplierRegistry registry = new FlightSupplierRegistry(List.of(slow), properties);
+        FlightSupplierRegistry.RegisteredSupplier registered = registry.getEnabledSuppliers().getFirst();
+
+        CompletableFuture<List<Flight>> timedOut = registered.searchFlights(criteria);
+        assertThrows(CompletionException.class, timedOut::join);
+        assertFalse(upstream.isDone());
+        assertTrue(registered.searchFlights(criteria).isCompletedExceptionally());
+        assertEquals(1, registered.getBulkhead().getActiveCalls());
+
+        upstream.complete(List.of(flight("slow")));
+
+        assertEquals(0, registered.getBulkhead().getActiveCalls());
+        assertEquals(List.of("slow"), registered.searchFlights(criteria).join().stream()
+                .map(Flight::getSupplier).toList());
+        assertEquals(2, slow.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should fail fast without calling the supplier once its circuit breaker is open")
+    void failsFastWhenCircuitOpen() {
+        SupplierProperties properties = new SupplierProperties();
+        properties.getInstances().put("failing", SupplierProperties.Settings.builder()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .build());
+        StubSupplier failing = new StubSupplier("failing",
+                CompletableFuture.failedFuture(new IllegalStateException("supplier down")));
+        FlightSupplierRegistry registry = new FlightSupplierRegistry(List.of(failing), properties);
+        FlightSupplierRegistry.RegisteredSupplier registered = registry.getEnabledSuppliers().getFirst();
+
+        for (int i = 0; i < 4; i++) {
+            registered.searchFlights(criteria);
+        }
+        CompletableFuture<List<Flight>> rejected = registered.searchFlights(criteria);
+
+        assertEquals(CircuitBreaker.State.OPEN, registered.getCircuitBreaker().getState());
+        assertInstanceOf(CallNotPermittedException.class, rejected.exceptionNow());
+        assertEquals(4, failing.calls.get());
+        assertEquals(1, registered.getCircuitBreaker().getRejectedCalls());
+    }
+
+    @Test
+    @DisplayName("Should not share a cached supplier answer between same-day searches with different times")
+    void cachesPerExactSearchTimes() {
+        StubSupplier supplier = new StubSupplier("alpha", CompletableFuture.completedFuture(List.of(flight("alpha"))));
+        SupplierSearchEngine engine = engine(new SupplierProperties(), supplier);
+        Instant outbound = Instant.parse("2030-01-01T08:00:00Z");
+        FlightSearchCriteriaDTO morning = FlightSearchCriteriaDTO.builder()
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .outboundDate(outbound)
+                .inboundDate(outbound.plus(2, ChronoUnit.DAYS))
+                .build();
+        FlightSearchCriteriaDTO evening = FlightSearchCriteriaDTO.builder()
+                .departureAirport("LHR")
+                .destinationAirport("JFK")
+                .outboundDate(outbound.plus(10, ChronoUnit.HOURS))
+                .inboundDate(outbound.plus(2, ChronoUnit.DAYS))
+                .build();
+
+        engine.search(morning, Duration.ofSeconds(1)).join();
+        engine.search(morning, Duration.ofSeconds(1)).join();
+        engine.search(evening, Duration.ofSeconds(1)).join();
+
+        assertEquals(2, supplier.calls.get());
+    }
+
+    private SupplierSearchEngine engine(SupplierProperties properties, FlightSupplier... suppliers) {
+        return new SupplierSearchEngine(
+                new FlightSupplierRegistry(List.of(suppliers), properties),
+                new TtlCache<>(Duration.ofMinutes(1), 100),
+                new SearchMetrics(new SimpleMeterRegistry()));
+    }
+
+    private static Flight flight(String supplier) {
+        return Flight.builder().supplier(supplier).build();
+    }
+
+    private static class StubSupplier implements FlightSupplier {
+        private final String name;
+        private final CompletableFuture<List<Flight>> response;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubSupplier(String name, CompletableFuture<List<Flight>> response) {
+            this.name = name;
+            this.response = response;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public CompletableFuture<List<Flight>> searchFlightsAsync(FlightSearchCriteriaDTO flightSearchCriteriaDTO) {
+            calls.incrementAndGet();
+            return response;
+        }
+    }
+}